@@ -0,0 +1,37 @@
+package com.spring.blog.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 메모리에 유지할 최대 버킷 수
+    private int maxBuckets = 100_000;
+
+    // 이 시간 동안 요청이 없어 가득 찬 버킷은 정리한다
+    private long idleEvictionSeconds = 600;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String method;
+        private String pattern;
+        // period-seconds 동안 허용하는 요청 수 (순간적으로 몰리는 요청도 이 수만큼 허용)
+        private int capacity;
+        private long periodSeconds;
+    }
+
+}
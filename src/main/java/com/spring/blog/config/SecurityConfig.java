@@ -4,6 +4,7 @@ import com.spring.blog.repository.UserRepository;
 import com.spring.blog.security.JwtAuthenticationEntryPoint;
 import com.spring.blog.security.JwtAuthenticationFilter;
 import com.spring.blog.security.JwtTokenProvider;
+import com.spring.blog.security.RateLimitFilter;
 import com.spring.blog.security.UserAuthenticationProvider;
 import com.spring.blog.service.impl.CustomUserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -56,6 +58,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .anyRequest().authenticated();
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
     }
 
@@ -6,22 +6,23 @@ import com.spring.blog.payload.request.FindByPasswordRequestDto;
 import com.spring.blog.payload.request.FindByUpdatePasswordRequestDto;
 import com.spring.blog.payload.request.JoinUserRequestDto;
 import com.spring.blog.payload.request.LoginRequestDto;
+import com.spring.blog.payload.response.PasswordHashingResponse;
 import com.spring.blog.payload.response.UserResponse;
 import com.spring.blog.security.JwtTokenProvider;
+import com.spring.blog.security.UserAuthenticationProvider;
+import com.spring.blog.service.PasswordHashingService;
 import com.spring.blog.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.http.Cookie;
-import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -30,7 +31,8 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtTokenProvider jwtTokenProvider;
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private final UserAuthenticationProvider userAuthenticationProvider;
+    private final PasswordHashingService passwordHashingService;
 
     @PostMapping("/join")
     public ResponseEntity<User> joinUser(@Valid @RequestBody JoinUserRequestDto dto) {
@@ -40,30 +42,31 @@ public class AuthController {
         return new ResponseEntity<>(newUser, HttpStatus.CREATED);
     }
 
+    /**
+     * 비밀번호 검증이 끝날 때까지 요청 스레드를 붙잡지 않도록 비동기로 응답한다.
+     * 검증 스레드에서는 HttpServletResponse 를 건드리지 않고, 쿠키도 반환하는 ResponseEntity 의 Set-Cookie 헤더로 내보낸다.
+     */
     @PostMapping("/login")
-    public ResponseEntity<SuccessResponse<UserResponse>> login(@Valid @RequestBody LoginRequestDto loginDto, HttpServletResponse response) {
-
-        userService.longinUser(loginDto);
+    public CompletableFuture<ResponseEntity<SuccessResponse<UserResponse>>> login(@Valid @RequestBody LoginRequestDto loginDto) {
 
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword());
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        String token = jwtTokenProvider.generateToken(authentication);
+        return userAuthenticationProvider.authenticateAsync(authenticationToken).thenApply(authentication -> {
+            String token = jwtTokenProvider.generateToken(authentication);
 
-        Cookie myCookie = new Cookie("cookie", token);
+            ResponseCookie myCookie = ResponseCookie.from("cookie", token)
+                    .httpOnly(true)
+                    .maxAge(300)
+                    .build();
 
-        myCookie.setHttpOnly(true);
-        myCookie.setMaxAge(300);
-        response.addCookie(myCookie);
-
-        HttpHeaders httpHeaders = new HttpHeaders();
+            HttpHeaders httpHeaders = new HttpHeaders();
+            httpHeaders.add(HttpHeaders.SET_COOKIE, myCookie.toString());
 
-        return SuccessResponse.successResponseEntity(UserResponse.builder()
-                .email(authentication.getName())
-                .token(token)
-                .build(), httpHeaders);
+            return SuccessResponse.successResponseEntity(UserResponse.builder()
+                    .email(authentication.getName())
+                    .token(token)
+                    .build(), httpHeaders);
+        });
     }
 
     @GetMapping("/logout")
@@ -76,6 +79,15 @@ public class AuthController {
         return new ResponseEntity<>(successResponse, httpHeaders, HttpStatus.OK);
     }
 
+    @GetMapping("/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PasswordHashingResponse> getPasswordHashingStats() {
+
+        PasswordHashingResponse stats = passwordHashingService.getStats();
+
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
     @PostMapping("/find-password")
     @ResponseStatus(value = HttpStatus.OK)
     public void findPassword(@Valid @RequestBody FindByPasswordRequestDto dto) {
@@ -3,9 +3,14 @@ package com.spring.blog.controller;
 import com.spring.blog.entity.Category;
 import com.spring.blog.exception.UnauthorizedException;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
 import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.request.CategoryMoveRequestDto;
 import com.spring.blog.payload.request.CategoryRequestDto;
 import com.spring.blog.payload.response.CategoryResponse;
+import com.spring.blog.payload.response.CategoryTreeResponse;
+import com.spring.blog.payload.response.NameLookupResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.security.CurrentUser;
 import com.spring.blog.security.UserPrincipal;
 import com.spring.blog.service.CategoryService;
@@ -17,6 +22,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -39,6 +45,18 @@ public class CategoryController {
     }
 
 
+    @GetMapping("/lookup")
+    public ResponseEntity<List<NameLookupResponse>> lookupCategories(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "maxDistance", defaultValue = AppConstants.DEFAULT_LOOKUP_DISTANCE, required = false) int maxDistance,
+            @RequestParam(value = "limit", defaultValue = AppConstants.DEFAULT_SUGGESTION_SIZE, required = false) int limit) {
+
+        List<NameLookupResponse> categories = categoryService.lookupCategories(query, maxDistance, limit);
+
+        return new ResponseEntity<>(categories, HttpStatus.OK);
+    }
+
+
     @PostMapping
     //@PreAuthorize("hasRole('USER')")
     public ResponseEntity<CategoryResponse> createCategories(@Valid @RequestBody CategoryRequestDto dto,
@@ -49,6 +67,28 @@ public class CategoryController {
     }
 
 
+    @GetMapping("/tree")
+    public ResponseEntity<List<CategoryTreeResponse>> getCategoryTree() {
+
+        List<CategoryTreeResponse> tree = categoryService.findCategoryTree();
+
+        return new ResponseEntity<>(tree, HttpStatus.OK);
+    }
+
+
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<CursorResponse<PostSummaryResponse>> getCategoryPosts(
+            @PathVariable(name = "id") Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize,
+            @RequestParam(value = "includeChildren", defaultValue = "true", required = false) boolean includeChildren) {
+
+        CursorResponse<PostSummaryResponse> cursorResponse = categoryService.findPostsByCategory(id, cursor, pageSize, includeChildren);
+
+        return new ResponseEntity<>(cursorResponse, HttpStatus.OK);
+    }
+
+
     @GetMapping("/{id}")
     public ResponseEntity<Category> getCategory(@PathVariable(name = "id") Long id) {
 
@@ -68,6 +108,20 @@ public class CategoryController {
     }
 
 
+    /**
+     * 부모 카테고리를 바꾼다. parentId 가 없으면 최상위로 옮긴다.
+     */
+    @PutMapping("/{id}/parent")
+    //@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Category> moveCategory(@PathVariable(name = "id") Long id,
+                                                 @RequestBody CategoryMoveRequestDto dto,
+                                                 @CurrentUser UserPrincipal currentUser) throws UnauthorizedException {
+        Category moveCategory = categoryService.moveCategory(id, dto, currentUser);
+
+        return new ResponseEntity<>(moveCategory, HttpStatus.OK);
+    }
+
+
     @DeleteMapping("/{id}")
     //@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> deleteCategory(@PathVariable(name = "id") Long id,
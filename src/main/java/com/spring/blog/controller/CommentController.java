@@ -2,6 +2,7 @@ package com.spring.blog.controller;
 
 import com.spring.blog.entity.Comment;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.SuccessResponse;
 import com.spring.blog.payload.request.CommentRequestDto;
@@ -17,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/posts/{postId}/comments")
@@ -40,6 +42,18 @@ public class CommentController {
         return new ResponseEntity<>(pageResponse, HttpStatus.OK);
     }
 
+    /**
+     * 댓글 여러 개 조회 (요청한 id 순서대로, 없는 id 는 missingIds)
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<CommentResponse>> getComments(@PathVariable(name = "postId") Long postId,
+                                                                         @RequestParam(value = "ids") List<Long> commentIds) {
+
+        MultiGetResponse<CommentResponse> multiGetResponse = commentService.findComments(postId, commentIds);
+
+        return new ResponseEntity<>(multiGetResponse, HttpStatus.OK);
+    }
+
     /**
      * 댓글 등록
      */
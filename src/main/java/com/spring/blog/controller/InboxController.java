@@ -0,0 +1,58 @@
+package com.spring.blog.controller;
+
+import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.response.InboxEntryResponse;
+import com.spring.blog.security.CurrentUser;
+import com.spring.blog.security.UserPrincipal;
+import com.spring.blog.service.InboxService;
+import com.spring.blog.utils.AppConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inbox")
+@RequiredArgsConstructor
+public class InboxController {
+
+    private final InboxService inboxService;
+
+    @GetMapping
+    public ResponseEntity<CursorResponse<InboxEntryResponse>> getInbox(
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize,
+            @CurrentUser UserPrincipal currentUser) {
+
+        CursorResponse<InboxEntryResponse> cursorResponse = inboxService.findInbox(cursor, pageSize, currentUser);
+
+        return new ResponseEntity<>(cursorResponse, HttpStatus.OK);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> countUnread(@CurrentUser UserPrincipal currentUser) {
+
+        long unreadCount = inboxService.countUnread(currentUser);
+
+        return new ResponseEntity<>(unreadCount, HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<ApiResponse> markRead(@PathVariable(name = "id") Long entryId,
+                                                @CurrentUser UserPrincipal currentUser) {
+
+        ApiResponse apiResponse = inboxService.markRead(entryId, currentUser);
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<ApiResponse> markAllRead(@CurrentUser UserPrincipal currentUser) {
+
+        ApiResponse apiResponse = inboxService.markAllRead(currentUser);
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+}
@@ -50,6 +50,22 @@ public class NotificationController {
         return new ResponseEntity<>(pageResponse, HttpStatus.OK);
     }
 
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> countUnreadAnnouncements(@CurrentUser UserPrincipal currentUser) {
+
+        long unreadCount = notificationService.countUnreadAnnouncements(currentUser);
+
+        return new ResponseEntity<>(unreadCount, HttpStatus.OK);
+    }
+
+    @PostMapping("/seen")
+    public ResponseEntity<ApiResponse> markAnnouncementsSeen(@CurrentUser UserPrincipal currentUser) {
+
+        ApiResponse apiResponse = notificationService.markAnnouncementsSeen(currentUser);
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
     @PostMapping
     //@PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<NotificationResponse> createNotification(@Valid @RequestBody NotificationRequestDto dto,
@@ -3,11 +3,15 @@ package com.spring.blog.controller;
 import com.spring.blog.entity.Attachment;
 import com.spring.blog.entity.Post;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.SuccessResponse;
 import com.spring.blog.payload.request.AttachmentRequestDto;
 import com.spring.blog.payload.response.AttachmentResponse;
+import com.spring.blog.payload.response.ArchiveBucketResponse;
 import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.payload.request.PostRequestDto;
 import com.spring.blog.security.CurrentUser;
 import com.spring.blog.security.UserPrincipal;
@@ -36,6 +40,7 @@ import java.net.URLEncoder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -60,6 +65,14 @@ public class PostController {
         return new ResponseEntity<>(pageResponse, HttpStatus.OK);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<PostResponse>> getPosts(@RequestParam(value = "ids") List<Long> postIds) {
+
+        MultiGetResponse<PostResponse> multiGetResponse = postService.findPosts(postIds);
+
+        return new ResponseEntity<>(multiGetResponse, HttpStatus.OK);
+    }
+
     @PostMapping
     //@PreAuthorize("hasRole('USER')")
     public ResponseEntity<PostResponse> createPost(@Valid @RequestBody PostRequestDto dto,
@@ -70,6 +83,27 @@ public class PostController {
         return new ResponseEntity<>(createPost, HttpStatus.CREATED);
     }
 
+    @GetMapping("/archive")
+    public ResponseEntity<List<ArchiveBucketResponse>> getArchive(
+            @RequestParam(value = "categoryId", required = false) Long categoryId) {
+
+        List<ArchiveBucketResponse> archive = postService.findArchive(categoryId);
+
+        return new ResponseEntity<>(archive, HttpStatus.OK);
+    }
+
+    @GetMapping("/archive/{month}")
+    public ResponseEntity<CursorResponse<PostSummaryResponse>> getArchivePosts(
+            @PathVariable(name = "month") String month,
+            @RequestParam(value = "categoryId", required = false) Long categoryId,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize) {
+
+        CursorResponse<PostSummaryResponse> cursorResponse = postService.findArchivePosts(month, categoryId, cursor, pageSize);
+
+        return new ResponseEntity<>(cursorResponse, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Post> findByPost(@PathVariable(name = "id") Long postId) {
 
@@ -3,11 +3,19 @@ package com.spring.blog.controller;
 
 import com.spring.blog.entity.Tag;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.request.TagMergeRequestDto;
 import com.spring.blog.payload.request.TagRequestDto;
+import com.spring.blog.payload.request.TagSuggestionRequestDto;
+import com.spring.blog.payload.response.NameLookupResponse;
+import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.TagMergeResponse;
 import com.spring.blog.payload.response.TagResponse;
 import com.spring.blog.security.CurrentUser;
 import com.spring.blog.security.UserPrincipal;
 import com.spring.blog.service.TagService;
+import com.spring.blog.utils.AppConstants;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,6 +24,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/tags")
@@ -23,6 +32,48 @@ import javax.validation.Valid;
 public class TagController {
     private final TagService tagService;
 
+    @GetMapping
+    public ResponseEntity<PageResponse<TagResponse>> getAllTags(
+            @RequestParam(value = "pageNo", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER, required = false) int pageNo,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize,
+            @RequestParam(value = "sortBy", defaultValue = AppConstants.DEFAULT_SORT_BY, required = false) String sortBy,
+            @RequestParam(value = "sortDir", defaultValue = AppConstants.DEFAULT_SORT_DIREACTION, required = false) String sortDir) {
+
+        PageResponse<TagResponse> pageResponse = tagService.findAllTags(pageNo, pageSize, sortBy, sortDir);
+
+        return new ResponseEntity<>(pageResponse, HttpStatus.OK);
+    }
+
+    @GetMapping("/cloud")
+    public ResponseEntity<List<TagResponse>> getTagCloud(
+            @RequestParam(value = "limit", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int limit) {
+
+        List<TagResponse> tagCloud = tagService.findTagCloud(limit);
+
+        return new ResponseEntity<>(tagCloud, HttpStatus.OK);
+    }
+
+    @GetMapping("/lookup")
+    public ResponseEntity<List<NameLookupResponse>> lookupTags(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "maxDistance", defaultValue = AppConstants.DEFAULT_LOOKUP_DISTANCE, required = false) int maxDistance,
+            @RequestParam(value = "limit", defaultValue = AppConstants.DEFAULT_SUGGESTION_SIZE, required = false) int limit) {
+
+        List<NameLookupResponse> tags = tagService.lookupTags(query, maxDistance, limit);
+
+        return new ResponseEntity<>(tags, HttpStatus.OK);
+    }
+
+    @PostMapping("/suggestions")
+    public ResponseEntity<List<TagResponse>> getTagSuggestions(
+            @RequestBody TagSuggestionRequestDto dto,
+            @RequestParam(value = "limit", defaultValue = AppConstants.DEFAULT_SUGGESTION_SIZE, required = false) int limit) {
+
+        List<TagResponse> suggestions = tagService.findTagSuggestions(dto, limit);
+
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+
     @PostMapping
     //@PreAuthorize("hasRole('USER')")
     public ResponseEntity<TagResponse> addTag(@Valid @RequestBody TagRequestDto dto,
@@ -33,10 +84,37 @@ public class TagController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Tag> getTag(@PathVariable(name = "id") Long id) {
+    public ResponseEntity<TagResponse> getTag(@PathVariable(name = "id") Long id) {
         Tag tag = tagService.findByTag(id);
 
-        return new ResponseEntity<>(tag, HttpStatus.OK);
+        return new ResponseEntity<>(TagResponse.createTagResponse(tag), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<CursorResponse<PostResponse>> getTagPosts(
+            @PathVariable(name = "id") Long id,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize) {
+
+        CursorResponse<PostResponse> cursorResponse = tagService.findPostsByTag(id, cursor, pageSize);
+
+        return new ResponseEntity<>(cursorResponse, HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/merge")
+    public ResponseEntity<TagMergeResponse> mergeTags(@PathVariable(name = "id") Long id,
+                                                      @RequestBody TagMergeRequestDto dto,
+                                                      @CurrentUser UserPrincipal currentUser) {
+        TagMergeResponse merge = tagService.mergeTags(id, dto, currentUser);
+
+        return new ResponseEntity<>(merge, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/merges/{mergeId}")
+    public ResponseEntity<TagMergeResponse> getTagMerge(@PathVariable(name = "mergeId") Long mergeId) {
+        TagMergeResponse merge = tagService.findTagMerge(mergeId);
+
+        return new ResponseEntity<>(merge, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
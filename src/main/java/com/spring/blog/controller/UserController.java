@@ -1,10 +1,14 @@
 package com.spring.blog.controller;
 
 import com.spring.blog.entity.User;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.UserRequestDto;
 import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.payload.response.UserResponse;
+import com.spring.blog.payload.response.UserStatsResponse;
 import com.spring.blog.security.CurrentUser;
 import com.spring.blog.security.UserPrincipal;
 import com.spring.blog.service.UserService;
@@ -15,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
@@ -38,6 +43,14 @@ public class UserController {
         return new ResponseEntity<>(pageResponse, HttpStatus.OK);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<MultiGetResponse<UserResponse>> getUsers(@RequestParam(value = "ids") List<Long> userIds) {
+
+        MultiGetResponse<UserResponse> multiGetResponse = userService.findUsers(userIds);
+
+        return new ResponseEntity<>(multiGetResponse, HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     //@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<User> findByUser(@PathVariable(name = "id") Long userId) {
@@ -47,6 +60,25 @@ public class UserController {
         return new ResponseEntity<>(findByUser, HttpStatus.OK);
     }
 
+    @GetMapping("/{id}/posts")
+    public ResponseEntity<CursorResponse<PostSummaryResponse>> getUserPosts(
+            @PathVariable(name = "id") Long userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "pageSize", defaultValue = AppConstants.DEFAULT_PAGE_SIZE, required = false) int pageSize) {
+
+        CursorResponse<PostSummaryResponse> cursorResponse = userService.findPostsByUser(userId, cursor, pageSize);
+
+        return new ResponseEntity<>(cursorResponse, HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<UserStatsResponse> getUserStats(@PathVariable(name = "id") Long userId) {
+
+        UserStatsResponse userStatsResponse = userService.findUserStats(userId);
+
+        return new ResponseEntity<>(userStatsResponse, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     //@PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<User> updateUser(@PathVariable(name = "id") Long userId,
@@ -1,5 +1,6 @@
 package com.spring.blog.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.spring.blog.entity.common.LocalDate;
 import lombok.*;
 
@@ -14,7 +15,12 @@ import java.util.List;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_lft_rgt", columnList = "lft, rgt"),
+        @Index(name = "idx_categories_parent", columnList = "parent_id"),
+        @Index(name = "idx_categories_name", columnList = "name, id"),
+        @Index(name = "idx_categories_post_count", columnList = "post_count, id")
+})
 public class Category {
 
     @Id
@@ -26,10 +32,27 @@ public class Category {
     @Column(name = "user_id")
     private Long userId;
 
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // nested set 번호와 깊이 (CategoryTreeService 가 부모 관계에서 다시 매긴다)
+    private Integer lft;
+
+    private Integer rgt;
+
+    private Integer depth;
+
+    // 이 카테고리에 바로 속한 공개 게시글 수 (하위 카테고리 합계는 메모리 트리에서 올려 센다)
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    // 게시글은 GET /api/categories/{id}/posts 로 나눠서 조회한다
+    @JsonIgnore
+    @OneToMany(mappedBy = "category")
     private List<Post> posts = new ArrayList<>();
 
     @Embedded
+    @AttributeOverride(name = "createdAt", column = @Column(name = "created_at", nullable = false, updatable = false))
     private LocalDate date;
 
     public List<Post> getPosts() {
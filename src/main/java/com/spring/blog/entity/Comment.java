@@ -11,7 +11,10 @@ import javax.persistence.*;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_enable_id", columnList = "is_enable, id"),
+        @Index(name = "idx_comments_enable_created", columnList = "is_enable, created_at, id")
+})
 public class Comment {
 
     @Id
@@ -31,6 +34,7 @@ public class Comment {
     private Post post;
 
     @Embedded
+    @AttributeOverride(name = "createdAt", column = @Column(name = "created_at", nullable = false, updatable = false))
     private LocalDate date;
 
     @Column(name = "is_enable")
@@ -0,0 +1,37 @@
+package com.spring.blog.entity;
+
+import com.spring.blog.entity.common.LocalDate;
+import com.spring.blog.entity.common.MailStatus;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String recipient;
+    private String subject;
+    @Column(length = 2000)
+    private String text;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private MailStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime sentAt;
+    @Column(length = 1000)
+    private String lastError;
+    @Embedded
+    private LocalDate date;
+
+}
@@ -0,0 +1,33 @@
+package com.spring.blog.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * 사용자별 받은 알림 상태. lastReadId 이하의 알림은 모두 읽은 것으로 보고, unreadCount 는 안 읽은 알림 수를 들고 있다.
+ * 전체 공지는 사용자별로 복사하지 않고 마지막으로 본 공지 순번(lastSeenAnnouncement)만 기록한다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "inbox_cursors")
+public class InboxCursor {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_read_id", nullable = false)
+    private long lastReadId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    @Column(name = "last_seen_announcement", nullable = false)
+    private long lastSeenAnnouncement;
+
+}
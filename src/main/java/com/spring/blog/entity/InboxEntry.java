@@ -0,0 +1,41 @@
+package com.spring.blog.entity;
+
+import com.spring.blog.entity.common.LocalDate;
+import lombok.*;
+
+import javax.persistence.*;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "inbox_entries", indexes = @Index(name = "idx_inbox_entries_recipient_id", columnList = "recipient_id, id"))
+public class InboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Column(length = 30)
+    private String type;
+
+    private String title;
+
+    private String content;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    // 개별로 읽은 경우만 표시한다 (모두 읽음은 InboxCursor 의 lastReadId 로 처리)
+    @Column(name = "is_read")
+    private boolean read;
+
+    @Embedded
+    private LocalDate date;
+
+}
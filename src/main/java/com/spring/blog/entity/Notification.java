@@ -11,7 +11,10 @@ import javax.persistence.*;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_enable_id", columnList = "is_enable, id"),
+        @Index(name = "idx_notifications_enable_created", columnList = "is_enable, created_at, id")
+})
 public class Notification {
 
     @Id
@@ -24,7 +27,11 @@ public class Notification {
     private User user;
     @Column(name = "is_enable")
     private Integer isEnable;
+    // 공지 순번 (AnnouncementSequence)
+    @Column(unique = true)
+    private Long sequence;
     @Embedded
+    @AttributeOverride(name = "createdAt", column = @Column(name = "created_at", nullable = false, updatable = false))
     private LocalDate date;
 
 }
@@ -12,7 +12,16 @@ import java.util.*;
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        // 카테고리/작성자 게시글 목록의 covering index (목록 컬럼까지 담는다)
+        @Index(name = "idx_posts_category_listing", columnList = "category_id, is_enable, created_at, id, user_id, title"),
+        @Index(name = "idx_posts_user_listing", columnList = "user_id, is_enable, created_at, id, category_id, title"),
+        // 전체 목록의 정렬 (SortRegistry.POSTS)
+        @Index(name = "idx_posts_enable_id", columnList = "is_enable, id"),
+        @Index(name = "idx_posts_enable_created", columnList = "is_enable, created_at, id"),
+        @Index(name = "idx_posts_enable_liked", columnList = "is_enable, liked, id"),
+        @Index(name = "idx_posts_enable_comments", columnList = "is_enable, comment_count, id")
+})
 public class Post {
 
     @Id
@@ -24,6 +33,7 @@ public class Post {
     private String content;
 
     @Embedded
+    @AttributeOverride(name = "createdAt", column = @Column(name = "created_at", nullable = false, updatable = false))
     private LocalDate date;
 
     @Column(name = "user_id")
@@ -42,18 +52,13 @@ public class Post {
             inverseJoinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"))
     private List<Tag> tags;
 
-    @Column(nullable = true)
+    @Column(nullable = false, updatable = false)
     private Integer liked; // 좋아요 수
 
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount; // 공개 댓글 수
+
     @Column(name = "is_enable")
     private Integer isEnable;
 
-    public void increaseLikeCount() {
-        this.liked += 1;
-    }
-
-    public void decreaseLikeCount() {
-        this.liked -= 1;
-    }
-
 }
@@ -0,0 +1,30 @@
+package com.spring.blog.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * 빈 번호 없이 올라가야 하는 순번의 현재 값. 번호를 쓰는 insert 와 같은 트랜잭션에서 행을 잠그고 올리므로
+ * 그 트랜잭션이 롤백되면 번호도 같이 돌아간다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "sequence_counters")
+public class SequenceCounter {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "current_value", nullable = false)
+    private long currentValue;
+
+    public long increase() {
+        return ++currentValue;
+    }
+
+}
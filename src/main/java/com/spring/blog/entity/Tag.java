@@ -23,13 +23,19 @@ public class Tag {
     @Column(nullable = true, unique = true)
     private String name;
 
+    // 태그의 게시글은 GET /api/tags/{id}/posts 로 나눠서 조회한다
     @JsonIgnore
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "post_tag",
             joinColumns = @JoinColumn(name = "tag_id", referencedColumnName = "id"),
-            inverseJoinColumns = @JoinColumn(name = "post_id", referencedColumnName = "id"))
+            inverseJoinColumns = @JoinColumn(name = "post_id", referencedColumnName = "id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_post_tag_tag_post", columnNames = {"tag_id", "post_id"}))
     private List<Post> posts;
 
+    // 공개 게시글 수 (TagCloudService 가 증감)
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
     @Embedded
     private LocalDate date;
 
@@ -20,7 +20,10 @@ import java.util.stream.Collectors;
 @Builder
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created", columnList = "created_at, id"),
+        @Index(name = "idx_users_name", columnList = "name, id")
+})
 public class User {
 
     @Id
@@ -32,6 +35,7 @@ public class User {
     private String password;
 
     private String name;
+    @AttributeOverride(name = "createdAt", column = @Column(name = "created_at", nullable = false, updatable = false))
     private LocalDate date;
 
     @ManyToMany(fetch = FetchType.EAGER)
@@ -46,6 +50,10 @@ public class User {
 
     private Integer status;
 
+    // 발급한 토큰을 무효화할 때마다 올린다 (UserRepository.increaseTokenEpoch 로만 바꾼다)
+    @Column(name = "token_epoch", nullable = false, updatable = false)
+    private long tokenEpoch;
+
     public List<Role> getRoles() {
         return roles == null ? null : new ArrayList<>(roles);
     }
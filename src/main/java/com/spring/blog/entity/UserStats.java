@@ -0,0 +1,37 @@
+package com.spring.blog.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 활동 통계. 공개 게시글 수, 공개 댓글 수, 자기 게시글이 받은 좋아요 수를 미리 세어 둔다.
+ * 쓰기는 UserStatsService 가 모아서 증감하고, 주기적으로 원본 테이블에서 다시 세어 맞춘다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_stats")
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "post_count", nullable = false)
+    private long postCount;
+
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    @Column(name = "likes_received", nullable = false)
+    private long likesReceived;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Getter
 public class LocalDate {
 
-    @Column(name = "created_at")
+    // 작성 시각은 처음 저장할 때만 쓴다. 수정 경로에서 LocalDate 를 새로 만들어도 덮어쓰지 않는다.
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
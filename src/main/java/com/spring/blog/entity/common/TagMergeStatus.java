@@ -0,0 +1,8 @@
+package com.spring.blog.entity.common;
+
+public enum TagMergeStatus {
+    RUNNING,
+    DONE,
+    FAILED,
+
+}
@@ -0,0 +1,8 @@
+package com.spring.blog.entity.common;
+
+public enum UserStatType {
+    POSTS,
+    COMMENTS,
+    LIKES_RECEIVED,
+
+}
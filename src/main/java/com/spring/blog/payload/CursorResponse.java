@@ -0,0 +1,16 @@
+package com.spring.blog.payload;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * keyset 페이지 응답. 다음 페이지는 nextCursor 를 cursor 로 그대로 넘겨서 조회한다 (목록마다 형식이 다르므로 해석하지 않는다).
+ */
+@Data
+public class CursorResponse<T> {
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+    private boolean last;
+}
@@ -0,0 +1,52 @@
+package com.spring.blog.payload;
+
+import com.spring.blog.exception.BadRequestException;
+import lombok.Data;
+
+import java.util.*;
+
+import static com.spring.blog.utils.AppConstants.MAX_MULTI_GET_SIZE;
+
+/**
+ * 여러 id 를 한 번에 조회한 응답. content 는 요청한 id 순서를 따르고, 없거나 볼 수 없는 id 는 missingIds 에 담는다.
+ */
+@Data
+public class MultiGetResponse<T> {
+    private List<T> content;
+    private List<Long> missingIds;
+
+    /**
+     * 요청 id 를 순서를 지키며 중복 없이 정리한다. 비어 있거나 MAX_MULTI_GET_SIZE 를 넘으면 거절한다.
+     */
+    public static List<Long> requestedIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(requested::add);
+        }
+
+        if (requested.isEmpty() || requested.size() > MAX_MULTI_GET_SIZE) {
+            ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "ids 는 1 개 이상 " + MAX_MULTI_GET_SIZE + " 개 이하로 요청해야 합니다.");
+            throw new BadRequestException(apiResponse);
+        }
+        return new ArrayList<>(requested);
+    }
+
+    public static <T> MultiGetResponse<T> of(List<Long> ids, Map<Long, T> found) {
+        List<T> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+
+        for (Long id : ids) {
+            T item = found.get(id);
+            if (item == null) {
+                missingIds.add(id);
+            } else {
+                content.add(item);
+            }
+        }
+
+        MultiGetResponse<T> response = new MultiGetResponse<>();
+        response.setContent(content);
+        response.setMissingIds(missingIds);
+        return response;
+    }
+}
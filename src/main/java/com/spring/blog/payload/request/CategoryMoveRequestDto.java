@@ -0,0 +1,13 @@
+package com.spring.blog.payload.request;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class CategoryMoveRequestDto {
+
+    // 없으면 최상위로 옮긴다
+    private Long parentId;
+
+}
@@ -15,4 +15,7 @@ public class CategoryRequestDto {
 
     private LocalDateTime createdAt;
 
+    // 없으면 최상위 카테고리
+    private Long parentId;
+
 }
@@ -0,0 +1,18 @@
+package com.spring.blog.payload.request;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class TagMergeRequestDto {
+
+    // 대상 태그로 합쳐질 태그 id 목록
+    private List<Long> sourceIds;
+
+    // 있으면 합친 뒤 대상 태그 이름을 바꾼다
+    private String name;
+
+}
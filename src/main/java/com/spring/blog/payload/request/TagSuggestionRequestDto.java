@@ -0,0 +1,16 @@
+package com.spring.blog.payload.request;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class TagSuggestionRequestDto {
+
+    private String text;
+
+    private List<String> tags;
+
+}
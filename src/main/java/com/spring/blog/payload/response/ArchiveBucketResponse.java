@@ -0,0 +1,14 @@
+package com.spring.blog.payload.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ArchiveBucketResponse {
+
+    private int year;
+    private int month;
+    private long postCount;
+
+}
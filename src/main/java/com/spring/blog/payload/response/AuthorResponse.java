@@ -0,0 +1,13 @@
+package com.spring.blog.payload.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class AuthorResponse {
+
+    private Long id;
+    private String name;
+
+}
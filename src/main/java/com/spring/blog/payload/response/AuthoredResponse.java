@@ -0,0 +1,12 @@
+package com.spring.blog.payload.response;
+
+/**
+ * 작성자 요약을 붙일 수 있는 목록 응답. userId 로 작성자를 찾아 author 를 채운다.
+ */
+public interface AuthoredResponse {
+
+    Long getUserId();
+
+    void setAuthor(AuthorResponse author);
+
+}
@@ -14,6 +14,7 @@ public class CategoryResponse {
 
     private Long id;
     private String name;
+    private Long parentId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<PostResponse> posts;
@@ -38,6 +39,7 @@ public class CategoryResponse {
         return CategoryResponse.builder()
                 .id(category.getId())
                 .name(category.getName())
+                .parentId(category.getParentId())
                 .createdAt(category.getDate().getCreatedAt())
                 .updatedAt(category.getDate().getUpdateAt())
                 //.posts(PostResponse.convertToPostResponseList(category.getPosts()))
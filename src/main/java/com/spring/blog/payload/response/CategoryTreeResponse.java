@@ -0,0 +1,20 @@
+package com.spring.blog.payload.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class CategoryTreeResponse {
+
+    private Long id;
+    private String name;
+    private Long parentId;
+    private int depth;
+    private long postCount;
+    private long totalPostCount;
+    private List<CategoryTreeResponse> children;
+
+}
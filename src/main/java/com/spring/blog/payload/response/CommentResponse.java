@@ -11,11 +11,12 @@ import java.util.stream.Stream;
 
 @Builder
 @Data
-public class CommentResponse {
+public class CommentResponse implements AuthoredResponse {
 
     private Long id;
     private String content;
     private Long userId;
+    private AuthorResponse author;
     private Long parentId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
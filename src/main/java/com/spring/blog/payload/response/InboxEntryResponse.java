@@ -0,0 +1,33 @@
+package com.spring.blog.payload.response;
+
+import com.spring.blog.entity.InboxEntry;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class InboxEntryResponse {
+
+    private Long id;
+    private String type;
+    private String title;
+    private String content;
+    private Long postId;
+    private boolean read;
+    private LocalDateTime createdAt;
+
+    public static InboxEntryResponse convertToInboxEntryResponse(InboxEntry entry, long lastReadId) {
+        return InboxEntryResponse.builder()
+                .id(entry.getId())
+                .type(entry.getType())
+                .title(entry.getTitle())
+                .content(entry.getContent())
+                .postId(entry.getPostId())
+                .read(entry.isRead() || entry.getId() <= lastReadId)
+                .createdAt(entry.getDate().getCreatedAt())
+                .build();
+    }
+
+}
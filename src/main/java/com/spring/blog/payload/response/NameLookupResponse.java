@@ -0,0 +1,15 @@
+package com.spring.blog.payload.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class NameLookupResponse {
+
+    private Long id;
+    private String name;
+    private Integer distance;
+    private Long postCount;
+
+}
@@ -0,0 +1,21 @@
+package com.spring.blog.payload.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class PasswordHashingResponse {
+
+    private int cost;
+    private int minCost;
+    private int maxCost;
+    private long targetMillis;
+    private long hashCount;
+    private double averageHashMillis;
+    private long verifyCount;
+    private double averageVerifyMillis;
+    private double maxVerifyMillis;
+    private long rehashCount;
+
+}
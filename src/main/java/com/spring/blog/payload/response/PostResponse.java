@@ -12,10 +12,11 @@ import java.util.stream.Stream;
 
 @Builder
 @Data
-public class PostResponse {
+public class PostResponse implements AuthoredResponse {
 
     private Long id;
     private Long userId;
+    private AuthorResponse author;
     private String title;
     private String content;
     private LocalDateTime createdAt;
@@ -0,0 +1,60 @@
+package com.spring.blog.payload.response;
+
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.repository.PostSummary;
+import com.spring.blog.utils.KeysetCursor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+@Builder
+@Data
+public class PostSummaryResponse implements AuthoredResponse {
+
+    private Long id;
+    private String title;
+    private Long userId;
+    private AuthorResponse author;
+    private Long categoryId;
+    private LocalDateTime createdAt;
+
+    public static PostSummaryResponse convertToPostSummaryResponse(PostSummary post) {
+        return PostSummaryResponse.builder()
+                .id(post.getId())
+                .title(post.getTitle())
+                .userId(post.getUserId())
+                .categoryId(post.getCategoryId())
+                .createdAt(post.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * id 내림차순 목록 (월별 보관함). 다음 페이지 cursor 는 마지막 게시글 id 다.
+     */
+    public static CursorResponse<PostSummaryResponse> createCursorResponse(List<PostSummary> posts, int pageSize) {
+        return createCursorResponse(posts, pageSize, post -> String.valueOf(post.getId()));
+    }
+
+    /**
+     * 작성 시각 내림차순 목록 (카테고리/작성자). 다음 페이지 cursor 에 마지막 게시글의 작성 시각과 id 를 같이 담는다.
+     */
+    public static CursorResponse<PostSummaryResponse> createKeysetCursorResponse(List<PostSummary> posts, int pageSize) {
+        return createCursorResponse(posts, pageSize, post -> KeysetCursor.encode(post.getCreatedAt(), post.getId()));
+    }
+
+    private static CursorResponse<PostSummaryResponse> createCursorResponse(List<PostSummary> posts, int pageSize,
+                                                                             Function<PostSummary, String> cursorOf) {
+        CursorResponse<PostSummaryResponse> cursorResponse = new CursorResponse<>();
+
+        cursorResponse.setContent(posts.stream().map(PostSummaryResponse::convertToPostSummaryResponse).toList());
+        cursorResponse.setPageSize(pageSize);
+        cursorResponse.setLast(posts.size() < pageSize);
+        cursorResponse.setNextCursor(posts.isEmpty() ? null : cursorOf.apply(posts.get(posts.size() - 1)));
+
+        return cursorResponse;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.spring.blog.payload.response;
+
+import com.spring.blog.entity.common.TagMergeStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Builder
+@Data
+public class TagMergeResponse {
+
+    private Long id;
+    private Long targetId;
+    private List<Long> sourceIds;
+    private String name;
+    private TagMergeStatus status;
+    private long totalRows;
+    private long movedRows;
+    private long removedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+}
@@ -10,11 +10,13 @@ public class TagResponse {
 
     private Long id;
     private String name;
+    private Long postCount;
 
     public static TagResponse createTagResponse(Tag tag) {
         return TagResponse.builder()
                 .id(tag.getId())
                 .name(tag.getName())
+                .postCount(tag.getPostCount())
                 .build();
     }
 
@@ -0,0 +1,15 @@
+package com.spring.blog.payload.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class UserStatsResponse {
+
+    private Long userId;
+    private long postCount;
+    private long commentCount;
+    private long likesReceived;
+
+}
@@ -1,14 +1,20 @@
 package com.spring.blog.repository;
 
 import com.spring.blog.entity.Certification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CertificationRepository extends JpaRepository<Certification, String> {
     Optional<Certification> findById(String token);
     Optional<Certification> findByIdAndExpirationDateAfterAndExpired(String token, LocalDateTime now, boolean expired);
+
+    @Query("SELECT c.id FROM Certification c WHERE c.expired = true OR c.expirationDate < :now")
+    List<String> findSweepableIds(LocalDateTime now, Pageable pageable);
 }
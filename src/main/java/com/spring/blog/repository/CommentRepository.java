@@ -5,14 +5,26 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query("SELECT c FROM Comment c WHERE c.isEnable = 1")
     Page<Comment> findByIsEnableTrue(Pageable pageable);
 
+    @Query("SELECT c FROM Comment c WHERE c.id IN :ids AND c.post.id = :postId AND c.isEnable = 1")
+    List<Comment> findPublicByIdIn(Long postId, Collection<Long> ids);
+
+    // 공개 여부가 바뀌는 동안 잠가서 comment_count 를 두 번 세지 않는다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Comment c WHERE c.id = :id")
+    Optional<Comment> findForUpdate(Long id);
+
 }
@@ -0,0 +1,36 @@
+package com.spring.blog.repository;
+
+import com.spring.blog.entity.EmailOutbox;
+import com.spring.blog.entity.common.MailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    List<EmailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(MailStatus status, LocalDateTime now, Pageable pageable);
+
+    // 다른 worker 가 먼저 가져가지 않았을 때만 lease 시각까지 선점한다
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :leaseUntil "
+            + "WHERE e.id = :id AND e.status = com.spring.blog.entity.common.MailStatus.PENDING AND e.nextAttemptAt <= :now")
+    int claim(Long id, LocalDateTime now, LocalDateTime leaseUntil);
+
+    // claim 때의 lease 를 아직 들고 있을 때만 (다른 worker 가 다시 가져가지 않았을 때만) 결과를 기록한다
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.sentAt = :sentAt, e.lastError = :lastError "
+            + "WHERE e.id = :id AND e.status = com.spring.blog.entity.common.MailStatus.PENDING AND e.nextAttemptAt = :leaseUntil")
+    int complete(Long id, LocalDateTime leaseUntil, MailStatus status, int attempts, LocalDateTime nextAttemptAt,
+                 LocalDateTime sentAt, String lastError);
+
+}
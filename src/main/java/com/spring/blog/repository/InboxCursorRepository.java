@@ -0,0 +1,36 @@
+package com.spring.blog.repository;
+
+import com.spring.blog.entity.InboxCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface InboxCursorRepository extends JpaRepository<InboxCursor, Long> {
+
+    // 커서 행이 없으면 만들고, 있으면 안 읽은 수를 원자적으로 올린다
+    @Modifying
+    @Query(value = "INSERT INTO inbox_cursors (user_id, last_read_id, unread_count, last_seen_announcement) VALUES (:userId, 0, 1, 0) "
+            + "ON DUPLICATE KEY UPDATE unread_count = unread_count + 1", nativeQuery = true)
+    int incrementUnread(Long userId);
+
+    // 공지 순번은 뒤로 가지 않는다
+    @Modifying
+    @Query(value = "INSERT INTO inbox_cursors (user_id, last_read_id, unread_count, last_seen_announcement) VALUES (:userId, 0, 0, :sequence) "
+            + "ON DUPLICATE KEY UPDATE last_seen_announcement = GREATEST(last_seen_announcement, :sequence)", nativeQuery = true)
+    int markAnnouncementsSeen(Long userId, long sequence);
+
+    @Modifying
+    @Query("UPDATE InboxCursor c SET c.unreadCount = c.unreadCount - 1 WHERE c.userId = :userId AND c.unreadCount > 0")
+    int decrementUnread(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM InboxCursor c WHERE c.userId = :userId")
+    Optional<InboxCursor> findForUpdate(Long userId);
+
+}
@@ -0,0 +1,29 @@
+package com.spring.blog.repository;
+
+import com.spring.blog.entity.InboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InboxEntryRepository extends JpaRepository<InboxEntry, Long> {
+
+    List<InboxEntry> findByRecipientIdOrderByIdDesc(Long recipientId, Pageable pageable);
+
+    List<InboxEntry> findByRecipientIdAndIdLessThanOrderByIdDesc(Long recipientId, Long id, Pageable pageable);
+
+    @Query("SELECT MAX(e.id) FROM InboxEntry e WHERE e.recipientId = :recipientId")
+    Long findMaxId(Long recipientId);
+
+    boolean existsByIdAndRecipientId(Long id, Long recipientId);
+
+    @Modifying
+    @Query("UPDATE InboxEntry e SET e.read = true "
+            + "WHERE e.id = :id AND e.recipientId = :recipientId AND e.read = false AND e.id > :lastReadId")
+    int markRead(Long id, Long recipientId, long lastReadId);
+
+}
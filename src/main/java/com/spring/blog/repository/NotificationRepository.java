@@ -3,6 +3,7 @@ package com.spring.blog.repository;
 import com.spring.blog.entity.Notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -14,5 +15,9 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             value = "SELECT n FROM Notification n WHERE (n.title LIKE %:title% OR n.content LIKE %:content%) AND n.isEnable = 0",
             countQuery = "SELECT COUNT(n.id) FROM Notification n WHERE (n.title LIKE %:title% OR n.content LIKE %:content%) AND n.isEnable = 0"
     )
+    @EntityGraph(attributePaths = "user")
     Page<Notification> findAllSearch(String title, String content, Pageable pageable);
+
+    @Query("SELECT MAX(n.sequence) FROM Notification n")
+    Long findMaxSequence();
 }
@@ -8,6 +8,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,4 +23,31 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     )
     Page<Post> findAllSearch(String title, String content, Pageable pageable);
 
+    // (tag_id, post_id) 인덱스를 따라 최신 글부터 읽는다
+    @Query("SELECT p FROM Post p JOIN p.tags t WHERE t.id = :tagId AND p.isEnable = 0 ORDER BY p.id DESC")
+    List<Post> findByTagId(Long tagId, Pageable pageable);
+
+    @Query("SELECT p FROM Post p JOIN p.tags t WHERE t.id = :tagId AND p.id < :cursor AND p.isEnable = 0 ORDER BY p.id DESC")
+    List<Post> findByTagIdBefore(Long tagId, Long cursor, Pageable pageable);
+
+    // 카테고리/작성자 목록은 (category_id | user_id, is_enable, created_at, id) 인덱스만 읽고 최신 글부터 keyset 으로 넘긴다
+    @Query("SELECT p.id AS id, p.title AS title, p.userId AS userId, p.category.id AS categoryId, p.date.createdAt AS createdAt FROM Post p WHERE p.category.id IN :categoryIds AND p.isEnable = 0 ORDER BY p.date.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesByCategoryIds(Collection<Long> categoryIds, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.userId AS userId, p.category.id AS categoryId, p.date.createdAt AS createdAt FROM Post p WHERE p.category.id IN :categoryIds AND p.isEnable = 0 AND (p.date.createdAt < :createdAt OR (p.date.createdAt = :createdAt AND p.id < :cursor)) ORDER BY p.date.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesByCategoryIdsBefore(Collection<Long> categoryIds, LocalDateTime createdAt, Long cursor, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.userId AS userId, p.category.id AS categoryId, p.date.createdAt AS createdAt FROM Post p WHERE p.userId = :userId AND p.isEnable = 0 ORDER BY p.date.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.userId AS userId, p.category.id AS categoryId, p.date.createdAt AS createdAt FROM Post p WHERE p.userId = :userId AND p.isEnable = 0 AND (p.date.createdAt < :createdAt OR (p.date.createdAt = :createdAt AND p.id < :cursor)) ORDER BY p.date.createdAt DESC, p.id DESC")
+    List<PostSummary> findSummariesByUserIdBefore(Long userId, LocalDateTime createdAt, Long cursor, Pageable pageable);
+
+    // 월별 보관함: 그 달의 id 범위 (primary key) 만 읽는다
+    @Query("SELECT p.id AS id, p.title AS title, p.userId AS userId, p.category.id AS categoryId, p.date.createdAt AS createdAt FROM Post p WHERE p.id BETWEEN :minId AND :maxId AND p.isEnable = 0 AND p.date.createdAt >= :from AND p.date.createdAt < :to ORDER BY p.id DESC")
+    List<PostSummary> findArchiveSummaries(Long minId, Long maxId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.title AS title, p.userId AS userId, p.category.id AS categoryId, p.date.createdAt AS createdAt FROM Post p WHERE p.category.id = :categoryId AND p.id BETWEEN :minId AND :maxId AND p.isEnable = 0 AND p.date.createdAt >= :from AND p.date.createdAt < :to ORDER BY p.id DESC")
+    List<PostSummary> findArchiveSummariesByCategoryId(Long categoryId, Long minId, Long maxId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
 }
@@ -0,0 +1,20 @@
+package com.spring.blog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록용 게시글 projection. 목록 인덱스에 들어 있는 컬럼만 읽는다.
+ */
+public interface PostSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    Long getUserId();
+
+    Long getCategoryId();
+
+    LocalDateTime getCreatedAt();
+
+}
@@ -0,0 +1,30 @@
+package com.spring.blog.repository;
+
+import com.spring.blog.entity.SequenceCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface SequenceCounterRepository extends JpaRepository<SequenceCounter, String> {
+
+    // 처음 한 번만 만든다 (다른 노드가 먼저 만들었으면 그대로 둔다)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO sequence_counters (name, current_value) VALUES (:name, :value)", nativeQuery = true)
+    int insertIfAbsent(String name, long value);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM SequenceCounter c WHERE c.name = :name")
+    Optional<SequenceCounter> findForUpdate(String name);
+
+    @Query("SELECT c.currentValue FROM SequenceCounter c WHERE c.name = :name")
+    Optional<Long> findCurrentValue(String name);
+
+}
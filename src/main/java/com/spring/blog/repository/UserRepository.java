@@ -6,10 +6,13 @@ import com.spring.blog.security.UserPrincipal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.validation.constraints.NotBlank;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -26,5 +29,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     )
     Page<User> findAllSearch(String email, String name, Pageable pageable);
 
+    @Query("SELECT u.id, u.email, u.name, u.date.createdAt FROM User u")
+    List<Object[]> findAllSearchEntries();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :oldHash")
+    int updatePassword(Long id, String oldHash, String password);
+
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenEpochById(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id = :id")
+    int increaseTokenEpoch(Long id);
+
 
 }
@@ -0,0 +1,43 @@
+package com.spring.blog.security;
+
+import com.spring.blog.utils.TimingWheel;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 이미 사용한 인증 토큰의 64bit fingerprint 집합.
+ * <p>
+ * 토큰이 만료되면 더 이상 기억할 필요가 없으므로 timing wheel 이 만료 시각에 집합에서 지운다.
+ * 노드별 메모리에만 있으므로 재시작하거나 다른 노드에서는 만료 전 토큰이 다시 쓰일 수 있다.
+ */
+@Component
+public class ConsumedTokenSet {
+
+    private static final long TICK_MILLIS = 1_000L;
+    private static final int SLOTS_PER_LEVEL = 60;
+    private static final int LEVELS = 3;
+
+    private final Set<Long> consumed = new HashSet<>();
+    private final TimingWheel timingWheel = new TimingWheel(TICK_MILLIS, SLOTS_PER_LEVEL, LEVELS,
+            System.currentTimeMillis(), consumed::remove);
+
+    /**
+     * 처음 사용하는 토큰이면 기록하고 true, 이미 사용한 토큰이면 false.
+     */
+    public synchronized boolean markConsumed(long fingerprint, long expiresAtMillis) {
+        timingWheel.advance(System.currentTimeMillis());
+
+        if (!consumed.add(fingerprint)) {
+            return false;
+        }
+        timingWheel.add(fingerprint, expiresAtMillis);
+        return true;
+    }
+
+    public synchronized int size() {
+        return consumed.size();
+    }
+
+}
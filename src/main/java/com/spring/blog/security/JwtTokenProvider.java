@@ -3,32 +3,50 @@ package com.spring.blog.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
-public class JwtTokenProvider {
+@RequiredArgsConstructor
+public class JwtTokenProvider implements InitializingBean {
 	private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    private static final String NAME_CLAIM = "name";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String EPOCH_CLAIM = "epoch";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
     @Value("${jwt.token-validity-in-seconds}")
     private int jwtExpirationInMs;
+    @Value("${jwt.verified-token-cache-size:10000}")
+    private int verifiedTokenCacheSize;
+
+    private final TokenEpochRegistry tokenEpochRegistry;
 
+    private Key key;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    public void afterPropertiesSet() {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedTokenCacheSize);
+    }
 
     public String generateToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -36,27 +54,79 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+
         return Jwts.builder()
                 .setSubject(Long.toString(userPrincipal.getId()))
-                .setIssuedAt(new Date())
+                .claim(NAME_CLAIM, userPrincipal.getName())
+                .claim(ROLES_CLAIM, roles)
+                .claim(EPOCH_CLAIM, tokenEpochRegistry.currentEpoch(userPrincipal.getId()))
+                .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
         return Long.valueOf(claims.getSubject());
     }
 
+    /**
+     * 토큰을 한 번만 검증하고 claim 만으로 UserPrincipal 을 만든다.
+     * 최근에 검증한 토큰은 만료 전까지 캐시에서 꺼내 쓰고, 유효하지 않거나 무효화된 토큰이면 null 을 반환한다.
+     */
+    public UserPrincipal getUserPrincipalFromJWT(String token) {
+        long now = System.currentTimeMillis();
+
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token, now);
+        if (verifiedToken == null) {
+            verifiedToken = verify(token);
+            if (verifiedToken == null) {
+                return null;
+            }
+            verifiedTokenCache.put(token, verifiedToken, now);
+        }
+
+        UserPrincipal userPrincipal = verifiedToken.getUserPrincipal();
+        if (!tokenEpochRegistry.isCurrent(userPrincipal.getId(), verifiedToken.getEpoch())) {
+            LOGGER.error("Revoked JWT token");
+            return null;
+        }
+
+        return userPrincipal;
+    }
+
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+
+        Number epoch = claims.get(EPOCH_CLAIM, Number.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+
+        if (epoch == null || roles == null || claims.getExpiration() == null) {
+            LOGGER.error("JWT token without principal claims");
+            return null;
+        }
+
+        List<String> roleNames = roles.stream().map(String::valueOf).collect(Collectors.toList());
+        UserPrincipal userPrincipal = UserPrincipal.create(Long.valueOf(claims.getSubject()),
+                claims.get(NAME_CLAIM, String.class), roleNames);
+
+        return new VerifiedTokenCache.VerifiedToken(userPrincipal, epoch.longValue(), claims.getExpiration().getTime());
+    }
+
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SignatureException ex) {
             LOGGER.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -68,6 +138,6 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             LOGGER.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
 }
@@ -0,0 +1,70 @@
+package com.spring.blog.security;
+
+import com.spring.blog.exception.ServiceUnavailableException;
+import com.spring.blog.service.PasswordHashingService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로그인 비밀번호 검증(BCrypt)을 요청 스레드가 아닌 전용 스레드 풀에서 실행한다.
+ * <p>
+ * 스레드 수와 대기열 크기가 제한되어 있어서, 로그인 요청이 몰려 대기열이 가득 차면 기다리지 않고 바로 503 으로 거절한다.
+ */
+@Component
+public class PasswordVerificationExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final PasswordHashingService passwordHashingService;
+
+    public PasswordVerificationExecutor(
+            PasswordHashingService passwordHashingService,
+            @Value("${login.password-verification.threads:0}") int threads,
+            @Value("${login.password-verification.queue-capacity:64}") int queueCapacity) {
+        this.passwordHashingService = passwordHashingService;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new PasswordVerificationThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<Boolean> verify(String rawPassword, String hashedPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordHashingService.matches(rawPassword, hashedPassword), executor);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceUnavailableException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.", ex);
+        }
+    }
+
+    /**
+     * 검증 스레드에서 이어서 실행할 작업(재해시 등). 풀이 가득 차 있으면 건너뛴다.
+     */
+    public void executeIfIdle(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ignored) {
+            // 다음 로그인 때 다시 시도
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static class PasswordVerificationThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-verification-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.spring.blog.security;
+
+import com.spring.blog.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 경로별 요청 수 제한 필터.
+ * <p>
+ * 설정된 경로(rate-limit.routes)에 대해 로그인 사용자는 사용자 id, 비로그인 요청은 IP 별로 token bucket 을 두고,
+ * 토큰이 없으면 429 와 Retry-After 헤더로 응답한다. JwtAuthenticationFilter 뒤에 두어야 사용자 id 를 알 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final RateLimitProperties rateLimitProperties;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int routeIndex = findRoute(request);
+
+        if (routeIndex < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitProperties.Route route = rateLimitProperties.getRoutes().get(routeIndex);
+        long now = System.nanoTime();
+        sweepIfNeeded(now);
+
+        String key = routeIndex + ":" + clientKey(request);
+        TokenBucket bucket = buckets.computeIfAbsent(key,
+                k -> new TokenBucket(route.getCapacity(), TimeUnit.SECONDS.toNanos(route.getPeriodSeconds()), now));
+
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private int findRoute(HttpServletRequest request) {
+        if (!rateLimitProperties.isEnabled()) {
+            return -1;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<RateLimitProperties.Route> routes = rateLimitProperties.getRoutes();
+
+        for (int i = 0; i < routes.size(); i++) {
+            RateLimitProperties.Route route = routes.get(i);
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.getPattern(), path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
+            return "u" + ((UserPrincipal) authentication.getPrincipal()).getId();
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private void sweepIfNeeded(long now) {
+        long last = lastSweep.get();
+        boolean full = buckets.size() >= rateLimitProperties.getMaxBuckets();
+
+        if ((!full && now - last < SWEEP_INTERVAL_NANOS) || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+
+        long idleSince = now - TimeUnit.SECONDS.toNanos(rateLimitProperties.getIdleEvictionSeconds());
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(idleSince));
+
+        // 그래도 넘치면 임의의 버킷을 덜어낸다
+        int target = rateLimitProperties.getMaxBuckets() - rateLimitProperties.getMaxBuckets() / 4;
+        Iterator<TokenBucket> iterator = buckets.values().iterator();
+        while (buckets.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.spring.blog.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없이 동작하는 token bucket.
+ * <p>
+ * 남은 토큰 수 대신 "버킷이 다시 가득 차는 시각"(GCRA 의 theoretical arrival time) 하나만 AtomicLong 으로 들고,
+ * 요청마다 CAS 로 갱신한다. 토큰 하나는 emissionInterval 마다 채워지고 최대 capacity 개까지 쌓인다.
+ */
+class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, long periodNanos, long now) {
+        this.emissionIntervalNanos = Math.max(1L, periodNanos / capacity);
+        this.capacityNanos = emissionIntervalNanos * capacity;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * 토큰 하나를 꺼낸다. 성공하면 0, 실패하면 다음 토큰이 생길 때까지 남은 시간(ns)을 반환한다.
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long overflow = next - now - capacityNanos;
+
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    boolean isIdleSince(long since) {
+        return fullAt.get() <= since;
+    }
+
+}
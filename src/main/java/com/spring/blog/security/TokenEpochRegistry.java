@@ -0,0 +1,79 @@
+package com.spring.blog.security;
+
+import com.spring.blog.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 토큰 epoch.
+ * <p>
+ * 토큰에는 발급 시점의 epoch 가 들어가고, 권한 변경이나 비활성화가 일어나면 users.token_epoch 를 올려서
+ * 그 이전에 발급된 토큰을 무효화한다. epoch 의 원본은 DB 에 있으므로 재시작이나 다른 노드에서도 유지되고,
+ * 여기서는 요청마다 조회하지 않도록 짧은 시간 동안만 캐시한다. 다른 노드에서 올린 epoch 는 캐시가 만료되는
+ * jwt.epoch-cache-seconds 안에 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenEpochRegistry {
+
+    // 없는 사용자의 토큰은 어떤 epoch 도 통과시키지 않는다
+    private static final long UNKNOWN_USER = Long.MAX_VALUE;
+
+    @Value("${jwt.epoch-cache-seconds:5}")
+    private long cacheSeconds;
+    @Value("${jwt.epoch-cache-size:10000}")
+    private int cacheSize;
+
+    private final UserRepository userRepository;
+
+    private final ConcurrentHashMap<Long, CachedEpoch> epochs = new ConcurrentHashMap<>();
+
+    public long currentEpoch(Long userId) {
+        long now = System.currentTimeMillis();
+
+        CachedEpoch cached = epochs.get(userId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.epoch;
+        }
+
+        long epoch = userRepository.findTokenEpochById(userId).orElse(UNKNOWN_USER);
+        if (epochs.size() >= cacheSize) {
+            evict(now);
+        }
+        epochs.put(userId, new CachedEpoch(epoch, now + cacheSeconds * 1000));
+        return epoch;
+    }
+
+    public boolean isCurrent(Long userId, long epoch) {
+        long current = currentEpoch(userId);
+        return current != UNKNOWN_USER && epoch >= current;
+    }
+
+    public void revoke(Long userId) {
+        userRepository.increaseTokenEpoch(userId);
+        epochs.remove(userId);
+    }
+
+    private void evict(long now) {
+        epochs.values().removeIf(cached -> cached.expiresAt <= now);
+
+        int target = cacheSize - cacheSize / 4;
+        Iterator<Long> iterator = epochs.keySet().iterator();
+        while (epochs.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class CachedEpoch {
+        private final long epoch;
+        private final long expiresAt;
+    }
+
+}
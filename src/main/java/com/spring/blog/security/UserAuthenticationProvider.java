@@ -1,6 +1,7 @@
 package com.spring.blog.security;
 
 import com.spring.blog.service.CustomUserDetailsService;
+import com.spring.blog.service.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -8,34 +9,57 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Component
 @RequiredArgsConstructor
 public class UserAuthenticationProvider implements AuthenticationProvider {
     private final CustomUserDetailsService customUserDetailsService;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+    private final PasswordHashingService passwordHashingService;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        try {
+            return authenticateAsync(authentication).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * 사용자 조회는 한 번만 하고, 비밀번호 검증은 PasswordVerificationExecutor 에서 실행한다.
+     */
+    public CompletableFuture<Authentication> authenticateAsync(Authentication authentication) throws AuthenticationException {
         String email = authentication.getName();
         String password = (String) authentication.getCredentials();
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
 
-        if (!checkPassword(password, userDetails.getPassword()) || !userDetails.isEnabled()) {
-            throw new BadCredentialsException(email);
-        }
-        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        return passwordVerificationExecutor.verify(password, userDetails.getPassword())
+                .thenApply(matches -> {
+                    if (!matches || !userDetails.isEnabled()) {
+                        throw new BadCredentialsException(email);
+                    }
+
+                    //저장된 해시의 cost 가 범위를 벗어나면 다시 해시
+                    if (userDetails instanceof UserPrincipal && passwordHashingService.needsRehash(userDetails.getPassword())) {
+                        Long userId = ((UserPrincipal) userDetails).getId();
+                        passwordVerificationExecutor.executeIfIdle(
+                                () -> passwordHashingService.rehashIfNeeded(userId, password, userDetails.getPassword()));
+                    }
+                    return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                });
     }
 
     @Override
     public boolean supports(Class<?> authentication) {
         return authentication.equals(UsernamePasswordAuthenticationToken.class);
     }
-
-    private boolean checkPassword(String loginPassword, String dbPassword) {
-        return BCrypt.checkpw(loginPassword, dbPassword);
-    }
 }
@@ -47,10 +47,21 @@ public class UserPrincipal implements UserDetails {
                 user.getEmail(), user.getPassword(), authorities);
     }
 
+    public static UserPrincipal create(Long id, String name, Collection<String> roleNames) {
+        List<GrantedAuthority> authorities = roleNames.stream()
+                .map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+
+        return new UserPrincipal(id, name, null, null, authorities);
+    }
+
     public Long getId() {
         return id;
     }
 
+    public String getName() {
+        return name;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -0,0 +1,7 @@
+package com.spring.blog.security;
+
+public enum VerificationPurpose {
+    EMAIL,
+    PASSWORD,
+
+}
@@ -0,0 +1,119 @@
+package com.spring.blog.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 회원가입/비밀번호 찾기 메일에 넣는 인증 토큰.
+ * <p>
+ * 사용자 id, 용도, 만료 시각을 담고 HMAC-SHA256 으로 서명하므로 발급할 때 DB 에 저장할 것이 없다.
+ * 형식: base64url(version | purpose | userId | expiresAt | nonce | mac[0..16])
+ */
+@Component
+public class VerificationTokenProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int PAYLOAD_LENGTH = 1 + 1 + Long.BYTES * 3;
+    private static final int MAC_LENGTH = 16;
+    private static final int TOKEN_LENGTH = PAYLOAD_LENGTH + MAC_LENGTH;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> macs;
+
+    public VerificationTokenProvider(@Value("${verification.secret:${jwt.secret}}") String secret) {
+        // JWT 서명 키를 그대로 쓰지 않도록 용도별 키를 파생한다
+        this.key = new SecretKeySpec(hmac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM),
+                "verification-token".getBytes(StandardCharsets.UTF_8)), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    public String issue(Long userId, VerificationPurpose purpose, Duration ttl) {
+        ByteBuffer buffer = ByteBuffer.allocate(TOKEN_LENGTH);
+        buffer.put(VERSION)
+                .put((byte) purpose.ordinal())
+                .putLong(userId)
+                .putLong(System.currentTimeMillis() + ttl.toMillis())
+                .putLong(random.nextLong());
+
+        Mac mac = macs.get();
+        mac.update(buffer.array(), 0, PAYLOAD_LENGTH);
+        buffer.put(mac.doFinal(), 0, MAC_LENGTH);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * 서명과 용도, 만료를 확인한다. 이 형식의 토큰이 아니거나 유효하지 않으면 null.
+     */
+    public VerificationToken parse(String token, VerificationPurpose purpose) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        if (bytes.length != TOKEN_LENGTH || bytes[0] != VERSION) {
+            return null;
+        }
+
+        Mac mac = macs.get();
+        mac.update(bytes, 0, PAYLOAD_LENGTH);
+        byte[] expected = mac.doFinal();
+        byte[] actual = new byte[MAC_LENGTH];
+        System.arraycopy(bytes, PAYLOAD_LENGTH, actual, 0, MAC_LENGTH);
+
+        if (!MessageDigest.isEqual(actual, Arrays.copyOf(expected, MAC_LENGTH))) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, PAYLOAD_LENGTH - 1);
+        int purposeOrdinal = buffer.get();
+        long userId = buffer.getLong();
+        long expiresAt = buffer.getLong();
+
+        if (purposeOrdinal != purpose.ordinal() || expiresAt < System.currentTimeMillis()) {
+            return null;
+        }
+
+        return new VerificationToken(userId, expiresAt, ByteBuffer.wrap(actual).getLong());
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        return newMac(key).doFinal(data);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class VerificationToken {
+        private final Long userId;
+        private final long expiresAt;
+        // 사용 여부 기록용 (서명 앞 8바이트)
+        private final long fingerprint;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.spring.blog.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근에 서명 검증을 마친 JWT 와 그 claim 으로 만든 UserPrincipal 을 담아두는 캐시.
+ * <p>
+ * 토큰의 만료 시각이 지나면 꺼내지 않으며, 크기가 가득 차면 만료된 항목부터 정리하고
+ * 그래도 넘치면 임의의 항목을 덜어낸다.
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<String, VerifiedToken> tokens;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.tokens = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    VerifiedToken get(String token, long now) {
+        VerifiedToken verifiedToken = tokens.get(token);
+        if (verifiedToken == null) {
+            return null;
+        }
+
+        if (verifiedToken.getExpiresAt() <= now) {
+            tokens.remove(token, verifiedToken);
+            return null;
+        }
+        return verifiedToken;
+    }
+
+    void put(String token, VerifiedToken verifiedToken, long now) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        if (tokens.size() >= maxSize) {
+            evict(now);
+        }
+        tokens.put(token, verifiedToken);
+    }
+
+    private void evict(long now) {
+        tokens.values().removeIf(verifiedToken -> verifiedToken.getExpiresAt() <= now);
+
+        int target = maxSize - maxSize / 4;
+        Iterator<String> iterator = tokens.keySet().iterator();
+        while (tokens.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class VerifiedToken {
+        private final UserPrincipal userPrincipal;
+        private final long epoch;
+        private final long expiresAt;
+    }
+
+}
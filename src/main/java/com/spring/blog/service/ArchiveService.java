@@ -0,0 +1,21 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.response.ArchiveBucketResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface ArchiveService {
+
+    void record(Long postId, LocalDateTime createdAt, Long categoryId, int delta);
+
+    void moveCategory(Long fromCategoryId, Long toCategoryId);
+
+    List<ArchiveBucketResponse> findBuckets(Long categoryId);
+
+    CursorResponse<PostSummaryResponse> findPosts(YearMonth month, Long categoryId, Long cursor, int pageSize);
+
+}
@@ -3,11 +3,18 @@ package com.spring.blog.service;
 import com.spring.blog.entity.Category;
 import com.spring.blog.exception.UnauthorizedException;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
 import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.request.CategoryMoveRequestDto;
 import com.spring.blog.payload.request.CategoryRequestDto;
 import com.spring.blog.payload.response.CategoryResponse;
+import com.spring.blog.payload.response.CategoryTreeResponse;
+import com.spring.blog.payload.response.NameLookupResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.security.UserPrincipal;
 
+import java.util.List;
+
 public interface CategoryService {
 
     PageResponse<CategoryResponse> findByAllCategories(int pageNo, int pageSize, String sortBy, String sortDir);
@@ -16,7 +23,15 @@ public interface CategoryService {
 
     Category updateCategory(Long categoryId, CategoryRequestDto dto, UserPrincipal currentUser) throws UnauthorizedException;
 
+    Category moveCategory(Long categoryId, CategoryMoveRequestDto dto, UserPrincipal currentUser) throws UnauthorizedException;
+
     ApiResponse deleteCategory(Long categoryId, UserPrincipal currentUser) throws UnauthorizedException;
 
+    List<NameLookupResponse> lookupCategories(String query, int maxDistance, int limit);
+
+    List<CategoryTreeResponse> findCategoryTree();
+
+    CursorResponse<PostSummaryResponse> findPostsByCategory(Long categoryId, String cursor, int pageSize, boolean includeChildren);
+
 
 }
@@ -0,0 +1,24 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.response.CategoryTreeResponse;
+import com.spring.blog.utils.CategoryTree;
+
+import java.util.List;
+
+public interface CategoryTreeService {
+
+    CategoryTree current();
+
+    void adjust(Long categoryId, int delta);
+
+    void detach(Long categoryId);
+
+    void insert(Long categoryId, Long parentId);
+
+    void restructure();
+
+    void refresh();
+
+    List<CategoryTreeResponse> findTree();
+
+}
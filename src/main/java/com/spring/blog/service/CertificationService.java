@@ -1,15 +1,13 @@
 package com.spring.blog.service;
 
-import com.spring.blog.entity.Certification;
+import com.spring.blog.security.VerificationPurpose;
 
 public interface CertificationService {
 
-    Certification createEmailToken(Long userId);
-
     void createEmailToken(Long userId, String receiverEmail);
 
     void createPasswordToken(Long userId, String receiverEmail);
 
-    Certification findByIdAndExpirationDateAfterAndExpired(String token);
+    Long consumeToken(String token, VerificationPurpose purpose);
 
 }
@@ -2,11 +2,14 @@ package com.spring.blog.service;
 
 import com.spring.blog.entity.Comment;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.CommentRequestDto;
 import com.spring.blog.payload.response.CommentResponse;
 import com.spring.blog.security.UserPrincipal;
 
+import java.util.List;
+
 public interface CommentService {
 
     PageResponse<CommentResponse> findAllComments(int pageNo, int pageSize, String sortBy, String sortDir);
@@ -15,6 +18,8 @@ public interface CommentService {
 
     Comment findByComment(Long postId, Long commentId);
 
+    MultiGetResponse<CommentResponse> findComments(Long postId, List<Long> commentIds);
+
     Comment updateComment(Long postId, Long commentId, CommentRequestDto dto, UserPrincipal currentUser);
 
     ApiResponse deleteComment(Long postId, Long commentId, UserPrincipal currentUser);
@@ -0,0 +1,20 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.response.InboxEntryResponse;
+import com.spring.blog.security.UserPrincipal;
+
+public interface InboxService {
+
+    void deliver(Long recipientId, String type, String title, String content, Long postId);
+
+    CursorResponse<InboxEntryResponse> findInbox(Long cursor, int pageSize, UserPrincipal currentUser);
+
+    long countUnread(UserPrincipal currentUser);
+
+    ApiResponse markRead(Long entryId, UserPrincipal currentUser);
+
+    ApiResponse markAllRead(UserPrincipal currentUser);
+
+}
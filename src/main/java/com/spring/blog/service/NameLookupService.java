@@ -0,0 +1,21 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.response.NameLookupResponse;
+
+import java.util.List;
+
+public interface NameLookupService {
+
+    void putTag(Long tagId, String name);
+
+    void removeTag(Long tagId);
+
+    void putCategory(Long categoryId, String name);
+
+    void removeCategory(Long categoryId);
+
+    List<NameLookupResponse> lookupTags(String query, int maxDistance, int limit);
+
+    List<NameLookupResponse> lookupCategories(String query, int maxDistance, int limit);
+
+}
@@ -0,0 +1,9 @@
+package com.spring.blog.service;
+
+public interface NotificationDigestService {
+
+    void record(Long recipientId, String type, String label, Long postId, String postTitle);
+
+    void flushAll();
+
+}
@@ -21,4 +21,8 @@ public interface NotificationService {
     Notification isEnable(Long notificationId, UserPrincipal currentUser);
     Notification isUnable(Long notificationId, UserPrincipal currentUser);
 
+    long countUnreadAnnouncements(UserPrincipal currentUser);
+
+    ApiResponse markAnnouncementsSeen(UserPrincipal currentUser);
+
 }
@@ -0,0 +1,17 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.response.PasswordHashingResponse;
+
+public interface PasswordHashingService {
+
+    String hash(String rawPassword);
+
+    boolean matches(String rawPassword, String hashedPassword);
+
+    boolean needsRehash(String hashedPassword);
+
+    void rehashIfNeeded(Long userId, String rawPassword, String hashedPassword);
+
+    PasswordHashingResponse getStats();
+
+}
@@ -0,0 +1,9 @@
+package com.spring.blog.service;
+
+public interface PostRankService {
+
+    void adjustLikes(Long postId, int delta);
+
+    void adjustComments(Long postId, int delta);
+
+}
@@ -2,19 +2,28 @@ package com.spring.blog.service;
 
 import com.spring.blog.entity.Post;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.PostRequestDto;
+import com.spring.blog.payload.response.ArchiveBucketResponse;
 import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.security.UserPrincipal;
 
+import java.util.List;
+
 public interface PostService {
 
     PageResponse<PostResponse> findAllPosts(int pageNo, int pageSize, String sortBy, String sortDir, String title, String content);
     PostResponse createPost(PostRequestDto dto, UserPrincipal currentUser);
     Post findByPost(Long postId);
+    MultiGetResponse<PostResponse> findPosts(List<Long> postIds);
     Post updatePost(Long postId, PostRequestDto dto, UserPrincipal currentUser);
     ApiResponse deletePost(Long id, UserPrincipal currentUser);
     Post isEnable(Long postId, UserPrincipal currentUser);
     Post isUnable(Long postId, UserPrincipal currentUser);
+    List<ArchiveBucketResponse> findArchive(Long categoryId);
+    CursorResponse<PostSummaryResponse> findArchivePosts(String month, Long categoryId, Long cursor, int pageSize);
 
 }
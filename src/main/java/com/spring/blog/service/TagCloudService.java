@@ -0,0 +1,23 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.response.TagResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TagCloudService {
+
+    void adjust(Collection<Long> tagIds, int delta);
+
+    void register(Long tagId, String name);
+
+    void remove(Long tagId);
+
+    PageResponse<TagResponse> findPage(int pageNo, int pageSize, String sortBy, String sortDir);
+
+    List<TagResponse> findTop(int limit);
+
+    List<TagResponse> findByIds(List<Long> tagIds);
+
+}
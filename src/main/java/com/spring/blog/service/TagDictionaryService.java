@@ -0,0 +1,22 @@
+package com.spring.blog.service;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TagDictionaryService {
+
+    List<String> normalize(Collection<String> names);
+
+    List<Long> resolve(List<String> names);
+
+    List<Long> lookup(List<String> names);
+
+    void attach(Long postId, List<Long> tagIds);
+
+    List<Long> findTagIds(Long postId);
+
+    void detach(Long postId, List<Long> tagIds);
+
+    void forget(Long tagId);
+
+}
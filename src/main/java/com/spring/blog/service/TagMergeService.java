@@ -0,0 +1,13 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.request.TagMergeRequestDto;
+import com.spring.blog.payload.response.TagMergeResponse;
+import com.spring.blog.security.UserPrincipal;
+
+public interface TagMergeService {
+
+    TagMergeResponse startMerge(Long targetId, TagMergeRequestDto dto, UserPrincipal currentUser);
+
+    TagMergeResponse findMerge(Long mergeId);
+
+}
@@ -2,19 +2,39 @@ package com.spring.blog.service;
 
 import com.spring.blog.entity.Tag;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
 import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.request.TagMergeRequestDto;
 import com.spring.blog.payload.request.TagRequestDto;
+import com.spring.blog.payload.request.TagSuggestionRequestDto;
+import com.spring.blog.payload.response.NameLookupResponse;
+import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.TagMergeResponse;
 import com.spring.blog.payload.response.TagResponse;
 import com.spring.blog.security.UserPrincipal;
 
+import java.util.List;
+
 public interface TagService {
 
-    PageResponse<Tag> findAllTags(int pageNo, int pageSize, String sortBy, String sortDir);
+    PageResponse<TagResponse> findAllTags(int pageNo, int pageSize, String sortBy, String sortDir);
+
+    List<TagResponse> findTagCloud(int limit);
+
+    List<TagResponse> findTagSuggestions(TagSuggestionRequestDto dto, int limit);
+
+    List<NameLookupResponse> lookupTags(String query, int maxDistance, int limit);
+
+    TagMergeResponse mergeTags(Long targetId, TagMergeRequestDto dto, UserPrincipal currentUser);
+
+    TagMergeResponse findTagMerge(Long mergeId);
 
     TagResponse createTag(TagRequestDto dto, UserPrincipal currentUser);
 
     Tag findByTag(Long tagId);
 
+    CursorResponse<PostResponse> findPostsByTag(Long tagId, Long cursor, int pageSize);
+
     Tag updateTag(Long tagId, TagRequestDto dto, UserPrincipal currentUser);
 
     ApiResponse deleteTag(Long tagId, UserPrincipal currentUser);
@@ -0,0 +1,18 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.response.TagResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TagSuggestionService {
+
+    void record(String title, Collection<Long> tagIds, int delta);
+
+    List<TagResponse> suggest(String text, List<String> tags, int limit);
+
+    void merge(Long sourceId, Long targetId);
+
+    void compact();
+
+}
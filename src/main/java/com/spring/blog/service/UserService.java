@@ -1,20 +1,28 @@
 package com.spring.blog.service;
 
 import com.spring.blog.entity.User;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.*;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.payload.response.UserResponse;
+import com.spring.blog.payload.response.UserStatsResponse;
 import com.spring.blog.security.UserPrincipal;
 
+import java.util.List;
+
 public interface UserService {
     User joinUser(JoinUserRequestDto dto);
-    boolean longinUser(LoginRequestDto dto);
     PageResponse<UserResponse> findAllUsers(int pageNo, int pageSize, String sortBy, String sortDir, String email, String name);
     User findByUser(Long userId);
+    MultiGetResponse<UserResponse> findUsers(List<Long> userIds);
     User updateUser(Long userId, UserRequestDto dto, UserPrincipal currentUser);
     User isEnable(Long userId, UserPrincipal currentUser);
     User isUnable(Long userId, UserPrincipal currentUser);
     void findByUserPassword(FindByPasswordRequestDto dto);
     User findUserByPassword(String token, FindByUpdatePasswordRequestDto dto);
+    CursorResponse<PostSummaryResponse> findPostsByUser(Long userId, String cursor, int pageSize);
+    UserStatsResponse findUserStats(Long userId);
 
 }
@@ -0,0 +1,16 @@
+package com.spring.blog.service;
+
+import com.spring.blog.entity.common.UserStatType;
+import com.spring.blog.payload.response.UserStatsResponse;
+
+public interface UserStatsService {
+
+    void record(Long userId, UserStatType type, int delta);
+
+    UserStatsResponse find(Long userId);
+
+    void flush();
+
+    void reconcile();
+
+}
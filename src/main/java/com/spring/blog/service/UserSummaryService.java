@@ -0,0 +1,18 @@
+package com.spring.blog.service;
+
+import com.spring.blog.payload.response.AuthorResponse;
+import com.spring.blog.payload.response.AuthoredResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface UserSummaryService {
+
+    Map<Long, AuthorResponse> findAuthors(Collection<Long> userIds);
+
+    <T extends AuthoredResponse> List<T> attachAuthors(List<T> responses);
+
+    void evict(Long userId);
+
+}
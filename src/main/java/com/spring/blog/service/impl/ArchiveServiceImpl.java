@@ -0,0 +1,194 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.response.ArchiveBucketResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
+import com.spring.blog.repository.PostRepository;
+import com.spring.blog.repository.PostSummary;
+import com.spring.blog.service.ArchiveService;
+import com.spring.blog.service.UserSummaryService;
+import com.spring.blog.utils.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.spring.blog.utils.AppConstants.MAX_PAGE_SIZE;
+
+/**
+ * 월별 글 보관함.
+ * <p>
+ * 공개 게시글을 작성 월 (와 카테고리) 로 묶어 게시글 수와 id 범위 (최소/최대) 를 메모리에 들고 있다.
+ * 시작할 때 posts 를 한 번 묶어 읽고, 이후에는 게시글이 쓰이거나 지워지거나 공개/비공개로 바뀌면 커밋 뒤에 증감한다.
+ * id 는 작성 순서대로 늘어나므로 한 달의 게시글은 id 범위 안에 있고, 월별 목록은 그 범위의 primary key 만 읽는다.
+ * 게시글이 빠져도 id 범위는 줄이지 않는다 (범위가 조금 넓어질 뿐 결과는 같다).
+ */
+@Service
+@RequiredArgsConstructor
+public class ArchiveServiceImpl implements ArchiveService, InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostRepository postRepository;
+    private final UserSummaryService userSummaryService;
+
+    private final Map<YearMonth, Month> months = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.query("SELECT YEAR(created_at) AS y, MONTH(created_at) AS m, category_id, COUNT(*) AS cnt, MIN(id) AS min_id, MAX(id) AS max_id "
+                        + "FROM posts WHERE is_enable = 0 AND created_at IS NOT NULL "
+                        + "GROUP BY YEAR(created_at), MONTH(created_at), category_id",
+                rs -> {
+                    YearMonth month = YearMonth.of(rs.getInt("y"), rs.getInt("m"));
+                    Long categoryId = rs.getObject("category_id") == null ? null : rs.getLong("category_id");
+                    long count = rs.getLong("cnt");
+                    long minId = rs.getLong("min_id");
+                    long maxId = rs.getLong("max_id");
+
+                    months.compute(month, (key, value) -> {
+                        Month bucket = value == null ? new Month() : value;
+                        bucket.total.add(count, minId, maxId);
+                        if (categoryId != null) {
+                            bucket.categories.computeIfAbsent(categoryId, id -> new Bucket()).add(count, minId, maxId);
+                        }
+                        return bucket;
+                    });
+                });
+    }
+
+    /**
+     * 공개 게시글 하나를 보관함에 더하거나 (delta 1) 뺀다 (delta -1). 트랜잭션이 있으면 커밋 뒤에 반영한다.
+     */
+    @Override
+    public void record(Long postId, LocalDateTime createdAt, Long categoryId, int delta) {
+        if (postId == null || createdAt == null || delta == 0) {
+            return;
+        }
+
+        YearMonth month = YearMonth.from(createdAt);
+        TransactionUtil.afterCommit(() -> months.compute(month, (key, value) -> {
+            if (value == null && delta < 0) {
+                return null;
+            }
+
+            Month bucket = value == null ? new Month() : value;
+            bucket.total.add(delta, postId, postId);
+            if (categoryId != null) {
+                Bucket category = bucket.categories.computeIfAbsent(categoryId, id -> new Bucket());
+                category.add(delta, postId, postId);
+                if (category.count == 0) {
+                    bucket.categories.remove(categoryId);
+                }
+            }
+            return bucket.total.count == 0 ? null : bucket;
+        }));
+    }
+
+    /**
+     * 카테고리가 지워져 게시글이 다른 카테고리로 옮겨졌을 때 (toCategoryId 가 null 이면 카테고리 없음) 몫을 넘긴다.
+     */
+    @Override
+    public void moveCategory(Long fromCategoryId, Long toCategoryId) {
+        if (fromCategoryId == null || fromCategoryId.equals(toCategoryId)) {
+            return;
+        }
+
+        TransactionUtil.afterCommit(() -> {
+            for (YearMonth month : months.keySet()) {
+                months.computeIfPresent(month, (key, bucket) -> {
+                    Bucket from = bucket.categories.remove(fromCategoryId);
+                    if (from != null && toCategoryId != null) {
+                        bucket.categories.computeIfAbsent(toCategoryId, id -> new Bucket()).add(from.count, from.minId, from.maxId);
+                    }
+                    return bucket;
+                });
+            }
+        });
+    }
+
+    /**
+     * 최근 달부터 게시글이 있는 달과 게시글 수. 카테고리를 주면 그 카테고리에 바로 속한 게시글만 센다.
+     */
+    @Override
+    public List<ArchiveBucketResponse> findBuckets(Long categoryId) {
+        List<ArchiveBucketResponse> buckets = new ArrayList<>();
+
+        for (Map.Entry<YearMonth, Month> entry : months.entrySet()) {
+            Bucket bucket = entry.getValue().find(categoryId);
+            if (bucket == null || bucket.count <= 0) {
+                continue;
+            }
+            buckets.add(ArchiveBucketResponse.builder()
+                    .year(entry.getKey().getYear())
+                    .month(entry.getKey().getMonthValue())
+                    .postCount(bucket.count)
+                    .build());
+        }
+
+        buckets.sort(Comparator.comparing(ArchiveBucketResponse::getYear)
+                .thenComparing(ArchiveBucketResponse::getMonth)
+                .reversed());
+        return buckets;
+    }
+
+    /**
+     * 한 달의 공개 게시글, 최신 글부터. 보관함의 id 범위로 primary key 범위만 읽고, 작성 시각으로 달 경계를 다시 거른다.
+     */
+    @Override
+    public CursorResponse<PostSummaryResponse> findPosts(YearMonth month, Long categoryId, Long cursor, int pageSize) {
+        Pageable pageable = PageRequest.of(0, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        Month value = months.get(month);
+        Bucket bucket = value == null ? null : value.find(categoryId);
+        if (bucket == null || bucket.count <= 0) {
+            return PostSummaryResponse.createCursorResponse(List.of(), pageable.getPageSize());
+        }
+
+        long maxId = cursor == null ? bucket.maxId : Math.min(bucket.maxId, cursor - 1);
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        List<PostSummary> posts = categoryId == null
+                ? postRepository.findArchiveSummaries(bucket.minId, maxId, from, to, pageable)
+                : postRepository.findArchiveSummariesByCategoryId(categoryId, bucket.minId, maxId, from, to, pageable);
+
+        CursorResponse<PostSummaryResponse> cursorResponse = PostSummaryResponse.createCursorResponse(posts, pageable.getPageSize());
+        userSummaryService.attachAuthors(cursorResponse.getContent());
+
+        return cursorResponse;
+    }
+
+    /**
+     * 한 달. 바꾸는 쪽은 months 의 compute 안에서만 바꾸고, 읽는 쪽은 잠금 없이 읽는다.
+     */
+    private static final class Month {
+        private final Bucket total = new Bucket();
+        private final Map<Long, Bucket> categories = new ConcurrentHashMap<>();
+
+        private Bucket find(Long categoryId) {
+            return categoryId == null ? total : categories.get(categoryId);
+        }
+    }
+
+    private static final class Bucket {
+        private volatile long count;
+        private volatile long minId = Long.MAX_VALUE;
+        private volatile long maxId = Long.MIN_VALUE;
+
+        private void add(long delta, long fromId, long toId) {
+            count = Math.max(count + delta, 0);
+            if (delta > 0) {
+                minId = Math.min(minId, fromId);
+                maxId = Math.max(maxId, toId);
+            }
+        }
+    }
+
+}
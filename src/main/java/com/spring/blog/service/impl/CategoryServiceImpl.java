@@ -3,15 +3,30 @@ package com.spring.blog.service.impl;
 import com.spring.blog.entity.Category;
 import com.spring.blog.entity.common.LocalDate;
 import com.spring.blog.entity.common.RoleName;
+import com.spring.blog.exception.BadRequestException;
 import com.spring.blog.exception.ResourceNotFoundException;
 import com.spring.blog.exception.UnauthorizedException;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
 import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.request.CategoryMoveRequestDto;
 import com.spring.blog.payload.request.CategoryRequestDto;
 import com.spring.blog.payload.response.CategoryResponse;
+import com.spring.blog.payload.response.CategoryTreeResponse;
+import com.spring.blog.payload.response.NameLookupResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.repository.CategoryRepository;
+import com.spring.blog.repository.PostRepository;
+import com.spring.blog.repository.PostSummary;
 import com.spring.blog.security.UserPrincipal;
+import com.spring.blog.service.ArchiveService;
 import com.spring.blog.service.CategoryService;
+import com.spring.blog.service.CategoryTreeService;
+import com.spring.blog.service.NameLookupService;
+import com.spring.blog.service.UserSummaryService;
+import com.spring.blog.utils.CategoryTree;
+import com.spring.blog.utils.KeysetCursor;
+import com.spring.blog.utils.SortRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -19,25 +34,32 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static com.spring.blog.utils.AppConstants.CATEGORY;
 import static com.spring.blog.utils.AppConstants.ID;
+import static com.spring.blog.utils.AppConstants.MAX_PAGE_SIZE;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final NameLookupService nameLookupService;
+    private final CategoryTreeService categoryTreeService;
+    private final PostRepository postRepository;
+    private final ArchiveService archiveService;
+    private final UserSummaryService userSummaryService;
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<CategoryResponse> findByAllCategories(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = SortRegistry.CATEGORIES.resolve(sortBy, sortDir);
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
 
@@ -59,18 +81,28 @@ public class CategoryServiceImpl implements CategoryService {
         return pageResponse;
     }
 
+    /**
+     * 새 카테고리는 자리 오른쪽 번호만 민다. 트리 잠금을 얻은 뒤 최신 번호를 읽도록 READ COMMITTED 로 돈다.
+     */
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public CategoryResponse createCategory(CategoryRequestDto dto, UserPrincipal currentUser) {
+        if (dto.getParentId() != null && !categoryRepository.existsById(dto.getParentId())) {
+            throw new ResourceNotFoundException(CATEGORY, ID, dto.getParentId());
+        }
 
         Category category = Category.builder()
                 .name(dto.getName())
+                .parentId(dto.getParentId())
                 .date(LocalDate.builder()
                         .createdAt(LocalDateTime.now())
                         .build())
                 .userId(currentUser.getId())
                 .build();
 
-        Category createCategory = categoryRepository.save(category);
+        Category createCategory = categoryRepository.saveAndFlush(category);
+        categoryTreeService.insert(createCategory.getId(), createCategory.getParentId());
+        nameLookupService.putCategory(createCategory.getId(), createCategory.getName());
 
         return CategoryResponse.convertToCategoryResponse(createCategory);
     }
@@ -83,16 +115,33 @@ public class CategoryServiceImpl implements CategoryService {
 
 
     @Override
+    @Transactional
     public Category updateCategory(Long categoryId, CategoryRequestDto dto, UserPrincipal currentUser) throws UnauthorizedException {
         Category findByCategory = categoryRepository.findById(categoryId).orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, categoryId));
 
         if (findByCategory.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+            // parentId 가 없으면 부모는 그대로 둔다 (최상위로 옮기는 건 moveCategory)
+            boolean moved = dto.getParentId() != null && !dto.getParentId().equals(findByCategory.getParentId());
+            if (moved) {
+                validateParent(categoryId, dto.getParentId());
+                findByCategory.setParentId(dto.getParentId());
+            }
+
             findByCategory.setName(dto.getName());
             findByCategory.setDate(LocalDate.builder()
+                    .createdAt(findByCategory.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
-            return categoryRepository.save(findByCategory);
+            Category updateCategory = categoryRepository.saveAndFlush(findByCategory);
+            if (moved) {
+                categoryTreeService.restructure();
+            } else {
+                categoryTreeService.refresh();
+            }
+            nameLookupService.putCategory(updateCategory.getId(), updateCategory.getName());
+
+            return updateCategory;
         }
 
         ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "권한이 없습니다.");
@@ -101,12 +150,58 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional
+    public Category moveCategory(Long categoryId, CategoryMoveRequestDto dto, UserPrincipal currentUser) throws UnauthorizedException {
+        Category findByCategory = categoryRepository.findById(categoryId).orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, categoryId));
+
+        if (findByCategory.getUserId().equals(currentUser.getId())
+                || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+            if (Objects.equals(dto.getParentId(), findByCategory.getParentId())) {
+                return findByCategory;
+            }
+            if (dto.getParentId() != null) {
+                validateParent(categoryId, dto.getParentId());
+            }
+
+            findByCategory.setParentId(dto.getParentId());
+            findByCategory.setDate(LocalDate.builder()
+                    .createdAt(findByCategory.getDate().getCreatedAt())
+                    .updateAt(LocalDateTime.now())
+                    .build());
+            Category moveCategory = categoryRepository.saveAndFlush(findByCategory);
+            categoryTreeService.restructure();
+
+            return moveCategory;
+        }
+
+        ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "권한이 없습니다.");
+
+        throw new UnauthorizedException(apiResponse);
+    }
+
+    private void validateParent(Long categoryId, Long parentId) {
+        if (categoryTreeService.current().contains(categoryId, parentId)) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE, "자기 자신이나 하위 카테고리 아래로 옮길 수 없습니다."));
+        }
+        if (!categoryRepository.existsById(parentId)) {
+            throw new ResourceNotFoundException(CATEGORY, ID, parentId);
+        }
+    }
+
+    @Override
+    @Transactional
     public ApiResponse deleteCategory(Long categoryId, UserPrincipal currentUser) throws UnauthorizedException {
         Category findByCategory = categoryRepository.findById(categoryId).orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, categoryId));
 
         if (findByCategory.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
-            categoryRepository.deleteById(categoryId);
+            // 하위 카테고리와 게시글은 부모 카테고리로 올리고 지운다
+            categoryTreeService.detach(categoryId);
+            archiveService.moveCategory(categoryId, findByCategory.getParentId());
+            categoryRepository.delete(findByCategory);
+            categoryRepository.flush();
+            categoryTreeService.restructure();
+            nameLookupService.removeCategory(categoryId);
 
             return new ApiResponse(Boolean.TRUE, "카테고리가 삭제 되었습니다.");
         }
@@ -116,4 +211,40 @@ public class CategoryServiceImpl implements CategoryService {
         throw new UnauthorizedException(apiResponse);
     }
 
+    @Override
+    public List<NameLookupResponse> lookupCategories(String query, int maxDistance, int limit) {
+        return nameLookupService.lookupCategories(query, maxDistance, limit);
+    }
+
+    @Override
+    public List<CategoryTreeResponse> findCategoryTree() {
+        return categoryTreeService.findTree();
+    }
+
+    /**
+     * 하위 카테고리까지 포함한 공개 게시글. 트리의 lft/rgt 로 범위 조회 한 번에 읽는다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<PostSummaryResponse> findPostsByCategory(Long categoryId, String cursor, int pageSize, boolean includeChildren) {
+        CategoryTree snapshot = categoryTreeService.current();
+        if (snapshot.find(categoryId) == null) {
+            throw new ResourceNotFoundException(CATEGORY, ID, categoryId);
+        }
+
+        // 하위 카테고리가 있으면 카테고리마다 idx_posts_category_listing 범위를 읽어 합친다
+        List<Long> categoryIds = includeChildren ? snapshot.subtreeIds(categoryId) : List.of(categoryId);
+        Pageable pageable = PageRequest.of(0, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<PostSummary> posts = after == null
+                ? postRepository.findSummariesByCategoryIds(categoryIds, pageable)
+                : postRepository.findSummariesByCategoryIdsBefore(categoryIds, after.getCreatedAt(), after.getId(), pageable);
+
+        CursorResponse<PostSummaryResponse> cursorResponse = PostSummaryResponse.createKeysetCursorResponse(posts, pageable.getPageSize());
+        userSummaryService.attachAuthors(cursorResponse.getContent());
+
+        return cursorResponse;
+    }
+
 }
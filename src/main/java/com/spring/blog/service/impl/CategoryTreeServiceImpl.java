@@ -0,0 +1,240 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.exception.ResourceNotFoundException;
+import com.spring.blog.payload.response.CategoryTreeResponse;
+import com.spring.blog.service.CategoryTreeService;
+import com.spring.blog.utils.CategoryTree;
+import com.spring.blog.utils.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static com.spring.blog.utils.AppConstants.CATEGORY;
+import static com.spring.blog.utils.AppConstants.ID;
+
+/**
+ * 카테고리 트리 (nested set) 와 게시글 수.
+ * <p>
+ * 구조를 바꾸는 트랜잭션은 sequence_counters 의 category_tree 행 하나를 잠가 차례로 돈다 (categories 전체를 잠그지 않는다).
+ * 새 카테고리는 들어갈 자리 오른쪽의 번호만 2 씩 밀고, 옮기거나 지우면 부모 관계로 lft/rgt/depth 를 다시 매겨 바뀐 행만 쓴다.
+ * 커밋되면 DB 에서 새 트리를 만들어 바꿔 끼운다. 읽는 쪽은 잠금 없이 지금 트리를 본다.
+ * 게시글 수는 categories.post_count (바로 속한 공개 게시글) 를 증감하고, 커밋 뒤 메모리 트리에서 조상 합계까지 올린다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryTreeServiceImpl implements CategoryTreeService, InitializingBean {
+
+    private static final String SELECT_CATEGORIES = "SELECT id, parent_id, name, post_count, lft, rgt, depth FROM categories";
+    private static final String TREE_LOCK = "category_tree";
+    private static final String LOCK_STRUCTURE = "UPDATE sequence_counters SET current_value = current_value + 1 WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile CategoryTree tree = CategoryTree.empty();
+
+    @Override
+    public void afterPropertiesSet() {
+        // 번호가 없는 카테고리가 있으면 (평평하던 때의 데이터) 게시글 수도 한 번 센다
+        Integer unnumbered = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories WHERE lft IS NULL", Integer.class);
+        if (unnumbered != null && unnumbered > 0) {
+            jdbcTemplate.update("UPDATE categories c SET post_count = "
+                    + "(SELECT COUNT(*) FROM posts p WHERE p.category_id = c.id AND p.is_enable = 0)");
+        }
+
+        synchronized (this) {
+            tree = renumber(load(SELECT_CATEGORIES));
+        }
+    }
+
+    @Override
+    public CategoryTree current() {
+        return tree;
+    }
+
+    @Override
+    public void adjust(Long categoryId, int delta) {
+        if (categoryId == null || delta == 0) {
+            return;
+        }
+
+        jdbcTemplate.update("UPDATE categories SET post_count = GREATEST(post_count + ?, 0) WHERE id = ?", delta, categoryId);
+
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                tree.add(categoryId, delta);
+            }
+        });
+    }
+
+    /**
+     * 지우기 전에 하위 카테고리와 게시글을 부모 카테고리로 올린다 (최상위였으면 게시글은 카테고리 없음이 된다).
+     */
+    @Override
+    public void detach(Long categoryId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT parent_id, post_count FROM categories WHERE id = ? FOR UPDATE", categoryId);
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        Long parentId = rows.get(0).get("parent_id") == null ? null : ((Number) rows.get(0).get("parent_id")).longValue();
+        long postCount = ((Number) rows.get(0).get("post_count")).longValue();
+
+        jdbcTemplate.update("UPDATE categories SET parent_id = ? WHERE parent_id = ?", parentId, categoryId);
+        jdbcTemplate.update("UPDATE posts SET category_id = ? WHERE category_id = ?", parentId, categoryId);
+        if (parentId != null && postCount > 0) {
+            jdbcTemplate.update("UPDATE categories SET post_count = post_count + ? WHERE id = ?", postCount, parentId);
+        }
+    }
+
+    /**
+     * 방금 저장한 카테고리를 부모의 마지막 자식 (부모가 없으면 마지막 최상위) 자리에 끼운다.
+     * 호출한 트랜잭션은 READ COMMITTED 여야 잠금을 얻은 뒤 다른 트랜잭션이 커밋한 번호를 본다.
+     */
+    @Override
+    public void insert(Long categoryId, Long parentId) {
+        lockStructure();
+
+        int position;
+        int depth;
+        if (parentId == null) {
+            Integer maxRgt = jdbcTemplate.queryForObject("SELECT MAX(rgt) FROM categories", Integer.class);
+            position = maxRgt == null ? 1 : maxRgt + 1;
+            depth = 0;
+        } else {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT rgt, depth FROM categories WHERE id = ?", parentId);
+            if (rows.isEmpty()) {
+                throw new ResourceNotFoundException(CATEGORY, ID, parentId);
+            }
+
+            Map<String, Object> parent = rows.get(0);
+            position = ((Number) parent.get("rgt")).intValue();
+            depth = ((Number) parent.get("depth")).intValue() + 1;
+
+            // 자리 오른쪽 (부모와 그 조상의 rgt 포함) 만 민다
+            jdbcTemplate.update("UPDATE categories SET rgt = rgt + 2 WHERE rgt >= ?", position);
+            jdbcTemplate.update("UPDATE categories SET lft = lft + 2 WHERE lft > ?", position);
+        }
+        jdbcTemplate.update("UPDATE categories SET lft = ?, rgt = ?, depth = ? WHERE id = ?", position, position + 1, depth, categoryId);
+
+        reloadAfterCommit();
+    }
+
+    /**
+     * 호출한 트랜잭션 안에서 번호를 다시 매긴다. 카테고리 변경은 flush 된 뒤에 불러야 한다.
+     */
+    @Override
+    public void restructure() {
+        lockStructure();
+        renumber(load(SELECT_CATEGORIES + " FOR UPDATE"));
+
+        reloadAfterCommit();
+    }
+
+    /**
+     * 구조는 그대로이고 이름만 바뀐 경우. 번호는 건드리지 않고 커밋 뒤 트리만 다시 읽는다.
+     */
+    @Override
+    public void refresh() {
+        reloadAfterCommit();
+    }
+
+    @Override
+    public List<CategoryTreeResponse> findTree() {
+        CategoryTree snapshot = tree;
+
+        List<CategoryTreeResponse> roots = new ArrayList<>();
+        Map<Long, CategoryTreeResponse> responses = new HashMap<>();
+
+        // lft 순이라 부모가 항상 먼저 나온다
+        for (CategoryTree.Node node : snapshot.nodes()) {
+            CategoryTreeResponse response = CategoryTreeResponse.builder()
+                    .id(node.getId())
+                    .name(node.getName())
+                    .parentId(node.getParentId())
+                    .depth(node.getDepth())
+                    .postCount(snapshot.ownCount(node.getId()))
+                    .totalPostCount(snapshot.totalCount(node.getId()))
+                    .children(new ArrayList<>())
+                    .build();
+            responses.put(node.getId(), response);
+
+            CategoryTreeResponse parent = node.getParentId() == null ? null : responses.get(node.getParentId());
+            if (parent == null) {
+                roots.add(response);
+            } else {
+                parent.getChildren().add(response);
+            }
+        }
+        return roots;
+    }
+
+    private void lockStructure() {
+        if (jdbcTemplate.update(LOCK_STRUCTURE, TREE_LOCK) == 0) {
+            jdbcTemplate.update("INSERT IGNORE INTO sequence_counters (name, current_value) VALUES (?, 0)", TREE_LOCK);
+            jdbcTemplate.update(LOCK_STRUCTURE, TREE_LOCK);
+        }
+    }
+
+    private void reloadAfterCommit() {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                tree = CategoryTree.build(load(SELECT_CATEGORIES).stream().map(Stored::entry).toList());
+            }
+        });
+    }
+
+    private CategoryTree renumber(List<Stored> rows) {
+        CategoryTree renumbered = CategoryTree.build(rows.stream().map(Stored::entry).toList());
+
+        List<Object[]> changed = new ArrayList<>();
+        for (Stored row : rows) {
+            CategoryTree.Node node = renumbered.find(row.id);
+            if (!Objects.equals(row.lft, node.getLft()) || !Objects.equals(row.rgt, node.getRgt()) || !Objects.equals(row.depth, node.getDepth())) {
+                changed.add(new Object[]{node.getLft(), node.getRgt(), node.getDepth(), row.id});
+            }
+        }
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE categories SET lft = ?, rgt = ?, depth = ? WHERE id = ?", changed);
+        }
+        return renumbered;
+    }
+
+    private List<Stored> load(String sql) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Stored(
+                rs.getLong("id"),
+                rs.getObject("parent_id") == null ? null : rs.getLong("parent_id"),
+                rs.getString("name"),
+                rs.getLong("post_count"),
+                rs.getObject("lft") == null ? null : rs.getInt("lft"),
+                rs.getObject("rgt") == null ? null : rs.getInt("rgt"),
+                rs.getObject("depth") == null ? null : rs.getInt("depth")));
+    }
+
+    private static final class Stored {
+        private final Long id;
+        private final Long parentId;
+        private final String name;
+        private final long postCount;
+        private final Integer lft;
+        private final Integer rgt;
+        private final Integer depth;
+
+        private Stored(Long id, Long parentId, String name, long postCount, Integer lft, Integer rgt, Integer depth) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.postCount = postCount;
+            this.lft = lft;
+            this.rgt = rgt;
+            this.depth = depth;
+        }
+
+        private CategoryTree.Entry entry() {
+            return new CategoryTree.Entry(id, parentId, name, postCount);
+        }
+    }
+
+}
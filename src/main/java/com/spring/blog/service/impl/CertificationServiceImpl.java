@@ -1,14 +1,19 @@
 package com.spring.blog.service.impl;
 
 import com.spring.blog.entity.Certification;
-import com.spring.blog.entity.common.LocalDate;
+import com.spring.blog.exception.BadRequestException;
+import com.spring.blog.payload.ApiResponse;
 import com.spring.blog.repository.CertificationRepository;
+import com.spring.blog.security.ConsumedTokenSet;
+import com.spring.blog.security.VerificationPurpose;
+import com.spring.blog.security.VerificationTokenProvider;
 import com.spring.blog.service.CertificationService;
 import com.spring.blog.utils.EmailSenderUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -16,36 +21,24 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CertificationServiceImpl implements CertificationService {
 
-    private static final long EMAIL_TOKEN_EXPIRATION_TIME_VALUE = 5L;
+    private static final Duration EMAIL_TOKEN_EXPIRATION_TIME = Duration.ofMinutes(5L);
     private final CertificationRepository certificationRepository;
     private final EmailSenderUtil emailSenderUtil;
+    private final VerificationTokenProvider verificationTokenProvider;
+    private final ConsumedTokenSet consumedTokenSet;
 
 
-    @Override
-    public Certification createEmailToken(Long userId) {
-        return Certification.builder()
-                .expirationDate(LocalDateTime.now().plusMinutes(EMAIL_TOKEN_EXPIRATION_TIME_VALUE))
-                .expired(false)
-                .userId(userId)
-                .date(LocalDate.builder()
-                        .createdAt(LocalDateTime.now())
-                        .build())
-                .build();
-    }
-
     @Override
     public void createEmailToken(Long userId, String receiverEmail) {
 
-        //이메일 토큰 저장
-        Certification certification = createEmailToken(userId);
-        certification.setType("회원가입 이메일 인증");
-        certificationRepository.save(certification);
+        //서명된 토큰이라 DB 에 저장하지 않는다
+        String token = verificationTokenProvider.issue(userId, VerificationPurpose.EMAIL, EMAIL_TOKEN_EXPIRATION_TIME);
 
-        //이메일 전송
+        //이메일 전송 (outbox 에 저장)
         SimpleMailMessage mailMessage = new SimpleMailMessage();
         mailMessage.setTo(receiverEmail);
         mailMessage.setSubject("회원가입 이메일 인증");
-        mailMessage.setText("http://localhost:8080/confirm-email?token=" + certification.getId());
+        mailMessage.setText("http://localhost:8080/confirm-email?token=" + token);
 
         emailSenderUtil.sendEmail(mailMessage);
     }
@@ -53,26 +46,42 @@ public class CertificationServiceImpl implements CertificationService {
     @Override
     public void createPasswordToken(Long userId, String receiverEmail) {
 
-        //이메일 토큰 저장
-        Certification certification = createEmailToken(userId);
-        certification.setType("비밀번호 찾기");
-        certificationRepository.save(certification);
+        //서명된 토큰이라 DB 에 저장하지 않는다
+        String token = verificationTokenProvider.issue(userId, VerificationPurpose.PASSWORD, EMAIL_TOKEN_EXPIRATION_TIME);
 
-        //이메일 전송
+        //이메일 전송 (outbox 에 저장)
         SimpleMailMessage mailMessage = new SimpleMailMessage();
         mailMessage.setTo(receiverEmail);
         mailMessage.setSubject("비밀번호 찾기 이메일 인증");
-        mailMessage.setText("http://localhost:8080/find-password?token=" + certification.getId());
+        mailMessage.setText("http://localhost:8080/find-password?token=" + token);
 
         emailSenderUtil.sendEmail(mailMessage);
     }
 
+    @Override
+    public Long consumeToken(String token, VerificationPurpose purpose) {
+        VerificationTokenProvider.VerificationToken verified = verificationTokenProvider.parse(token, purpose);
+
+        if (verified == null) {
+            return consumeLegacyToken(token);
+        }
 
-    public Certification findByIdAndExpirationDateAfterAndExpired(String token) {
-        Optional<Certification> emailToke = certificationRepository.findByIdAndExpirationDateAfterAndExpired(token, LocalDateTime.now(), false);
+        if (!consumedTokenSet.markConsumed(verified.getFingerprint(), verified.getExpiresAt())) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE, "이미 사용된 인증 토큰입니다."));
+        }
 
-        return emailToke.orElseThrow(() -> new RuntimeException("인증 토큰이 존재하지 않습니다."));
+        return verified.getUserId();
     }
 
+    //이전에 발급되어 certifications 테이블에 남아 있는 토큰 (만료되면 LegacyCertificationSweeper 가 지운다)
+    private Long consumeLegacyToken(String token) {
+        Optional<Certification> certification = certificationRepository.findByIdAndExpirationDateAfterAndExpired(token, LocalDateTime.now(), false);
+
+        Certification legacy = certification.orElseThrow(() -> new BadRequestException(new ApiResponse(Boolean.FALSE, "인증 토큰이 존재하지 않습니다.")));
+        legacy.setExpired(true);
+        certificationRepository.save(legacy);
+
+        return legacy.getUserId();
+    }
 
 }
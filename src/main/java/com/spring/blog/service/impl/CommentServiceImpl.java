@@ -4,9 +4,11 @@ import com.spring.blog.entity.Comment;
 import com.spring.blog.entity.Post;
 import com.spring.blog.entity.common.LocalDate;
 import com.spring.blog.entity.common.RoleName;
+import com.spring.blog.entity.common.UserStatType;
 import com.spring.blog.exception.ResourceNotFoundException;
 import com.spring.blog.exception.UnauthorizedException;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.CommentRequestDto;
 import com.spring.blog.payload.response.CommentResponse;
@@ -14,6 +16,12 @@ import com.spring.blog.repository.CommentRepository;
 import com.spring.blog.repository.PostRepository;
 import com.spring.blog.security.UserPrincipal;
 import com.spring.blog.service.CommentService;
+import com.spring.blog.service.NotificationDigestService;
+import com.spring.blog.service.PostRankService;
+import com.spring.blog.service.UserSummaryService;
+import com.spring.blog.service.UserStatsService;
+import com.spring.blog.utils.HtmlSanitizerUtil;
+import com.spring.blog.utils.SortRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -24,7 +32,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.spring.blog.utils.AppConstants.*;
@@ -36,12 +46,16 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
 
+    private final NotificationDigestService notificationDigestService;
+    private final PostRankService postRankService;
+    private final UserSummaryService userSummaryService;
+    private final UserStatsService userStatsService;
+
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<CommentResponse> findAllComments(int pageNo, int pageSize, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = SortRegistry.COMMENTS.resolve(sortBy, sortDir);
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
 
@@ -49,7 +63,8 @@ public class CommentServiceImpl implements CommentService {
 
         List<Comment> listOfComments = comments.getContent();
 
-        List<CommentResponse> content = listOfComments.stream().map(CommentResponse::convertToCommentResponse).collect(Collectors.toList());
+        List<CommentResponse> content = userSummaryService.attachAuthors(
+                listOfComments.stream().map(CommentResponse::convertToCommentResponse).collect(Collectors.toList()));
 
         PageResponse<CommentResponse> pageResource = new PageResponse<>();
 
@@ -64,12 +79,13 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public CommentResponse createComment(Long postId, CommentRequestDto dto, UserPrincipal currentUser) {
         Post findByPost = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
         Comment comment = Comment.builder()
-                .content(dto.getContent())
+                .content(HtmlSanitizerUtil.sanitize(dto.getContent()))
                 .date(LocalDate.builder()
                         .createdAt(LocalDateTime.now())
                         .build())
@@ -79,6 +95,13 @@ public class CommentServiceImpl implements CommentService {
                 .build();
 
         Comment createComment = commentRepository.save(comment);
+        postRankService.adjustComments(postId, 1);
+        userStatsService.record(currentUser.getId(), UserStatType.COMMENTS, 1);
+
+        //게시글 작성자에게 알림 (digest 로 모아서 보낸다)
+        if (findByPost.getUserId() != null && !findByPost.getUserId().equals(currentUser.getId())) {
+            notificationDigestService.record(findByPost.getUserId(), COMMENT, "댓글", findByPost.getId(), findByPost.getTitle());
+        }
 
         return CommentResponse.convertToCommentResponse(createComment);
     }
@@ -90,6 +113,25 @@ public class CommentServiceImpl implements CommentService {
         return commentRepository.findById(commentId).orElseThrow(() -> new ResourceNotFoundException(COMMENT, ID, commentId));
     }
 
+    /**
+     * 게시글의 공개 댓글 여러 개를 IN 조회 한 번으로 읽는다. 다른 게시글의 댓글이나 비공개 댓글은 없는 id 로 돌려준다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MultiGetResponse<CommentResponse> findComments(Long postId, List<Long> commentIds) {
+        List<Long> ids = MultiGetResponse.requestedIds(commentIds);
+
+        Map<Long, CommentResponse> found = new HashMap<>();
+        for (Comment comment : commentRepository.findPublicByIdIn(postId, ids)) {
+            found.put(comment.getId(), CommentResponse.convertToCommentResponse(comment));
+        }
+
+        MultiGetResponse<CommentResponse> multiGetResponse = MultiGetResponse.of(ids, found);
+        userSummaryService.attachAuthors(multiGetResponse.getContent());
+
+        return multiGetResponse;
+    }
+
     @Override
     public Comment updateComment(Long postId, Long commentId, CommentRequestDto dto, UserPrincipal currentUser) {
         Post findByPost = postRepository.findById(postId)
@@ -100,8 +142,9 @@ public class CommentServiceImpl implements CommentService {
 
         if (findByComment.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
-            findByComment.setContent(dto.getContent());
+            findByComment.setContent(HtmlSanitizerUtil.sanitize(dto.getContent()));
             findByComment.setDate(LocalDate.builder()
+                    .createdAt(findByComment.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
             findByComment.setPost(findByPost);
@@ -114,16 +157,21 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public ApiResponse deleteComment(Long postId, Long commentId, UserPrincipal currentUser) {
         postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
-        Comment findByComment = commentRepository.findById(commentId)
+        Comment findByComment = commentRepository.findForUpdate(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException(COMMENT, ID, commentId));
 
         if (findByComment.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
             commentRepository.deleteById(commentId);
+            if (isPublic(findByComment)) {
+                postRankService.adjustComments(findByComment.getPost().getId(), -1);
+                userStatsService.record(findByComment.getUserId(), UserStatType.COMMENTS, -1);
+            }
 
             return new ApiResponse(Boolean.TRUE, "게시물이 삭제 되었습니다.");
         }
@@ -133,16 +181,21 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public Comment isEnable(Long postId, Long commentId, UserPrincipal currentUser) {
        postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
-        Comment findByComment = commentRepository.findById(commentId)
+        Comment findByComment = commentRepository.findForUpdate(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException(COMMENT, ID, commentId));
 
         if (findByComment.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
 
+            if (!isPublic(findByComment)) {
+                postRankService.adjustComments(findByComment.getPost().getId(), 1);
+                userStatsService.record(findByComment.getUserId(), UserStatType.COMMENTS, 1);
+            }
             findByComment.setIsEnable(1);
 
             return commentRepository.save(findByComment);
@@ -154,16 +207,21 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public Comment isUnable(Long postId, Long commentId, UserPrincipal currentUser) {
         postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
-        Comment findByComment = commentRepository.findById(commentId)
+        Comment findByComment = commentRepository.findForUpdate(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException(COMMENT, ID, commentId));
 
         if (findByComment.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
 
+            if (isPublic(findByComment)) {
+                postRankService.adjustComments(findByComment.getPost().getId(), -1);
+                userStatsService.record(findByComment.getUserId(), UserStatType.COMMENTS, -1);
+            }
             findByComment.setIsEnable(0);
 
             return commentRepository.save(findByComment);
@@ -174,5 +232,9 @@ public class CommentServiceImpl implements CommentService {
         throw new UnauthorizedException(apiResponse);
     }
 
+    // 댓글은 isEnable 1 이 공개
+    private boolean isPublic(Comment comment) {
+        return comment.getIsEnable() != null && comment.getIsEnable() == 1;
+    }
 
 }
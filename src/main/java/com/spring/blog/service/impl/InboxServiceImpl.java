@@ -0,0 +1,114 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.entity.InboxCursor;
+import com.spring.blog.entity.InboxEntry;
+import com.spring.blog.entity.common.LocalDate;
+import com.spring.blog.exception.ResourceNotFoundException;
+import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.response.InboxEntryResponse;
+import com.spring.blog.repository.InboxCursorRepository;
+import com.spring.blog.repository.InboxEntryRepository;
+import com.spring.blog.security.UserPrincipal;
+import com.spring.blog.service.InboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.spring.blog.utils.AppConstants.*;
+
+@Service
+@RequiredArgsConstructor
+public class InboxServiceImpl implements InboxService {
+
+    private final InboxEntryRepository inboxEntryRepository;
+    private final InboxCursorRepository inboxCursorRepository;
+
+    @Override
+    @Transactional
+    public void deliver(Long recipientId, String type, String title, String content, Long postId) {
+        // 커서 행을 먼저 잠가서 모두 읽음 처리와 순서가 어긋나지 않게 한다
+        inboxCursorRepository.incrementUnread(recipientId);
+
+        inboxEntryRepository.save(InboxEntry.builder()
+                .recipientId(recipientId)
+                .type(type)
+                .title(title)
+                .content(content)
+                .postId(postId)
+                .read(false)
+                .date(LocalDate.builder()
+                        .createdAt(LocalDateTime.now())
+                        .build())
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<InboxEntryResponse> findInbox(Long cursor, int pageSize, UserPrincipal currentUser) {
+        Pageable pageable = PageRequest.of(0, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        List<InboxEntry> entries = cursor == null
+                ? inboxEntryRepository.findByRecipientIdOrderByIdDesc(currentUser.getId(), pageable)
+                : inboxEntryRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(currentUser.getId(), cursor, pageable);
+
+        long lastReadId = inboxCursorRepository.findById(currentUser.getId()).map(InboxCursor::getLastReadId).orElse(0L);
+
+        CursorResponse<InboxEntryResponse> cursorResponse = new CursorResponse<>();
+
+        cursorResponse.setContent(entries.stream().map(entry -> InboxEntryResponse.convertToInboxEntryResponse(entry, lastReadId)).toList());
+        cursorResponse.setPageSize(pageable.getPageSize());
+        cursorResponse.setLast(entries.size() < pageable.getPageSize());
+        cursorResponse.setNextCursor(entries.isEmpty() ? null : String.valueOf(entries.get(entries.size() - 1).getId()));
+
+        return cursorResponse;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countUnread(UserPrincipal currentUser) {
+        return inboxCursorRepository.findById(currentUser.getId()).map(InboxCursor::getUnreadCount).orElse(0L);
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse markRead(Long entryId, UserPrincipal currentUser) {
+        long lastReadId = inboxCursorRepository.findById(currentUser.getId()).map(InboxCursor::getLastReadId).orElse(0L);
+
+        if (inboxEntryRepository.markRead(entryId, currentUser.getId(), lastReadId) == 1) {
+            inboxCursorRepository.decrementUnread(currentUser.getId());
+            return new ApiResponse(Boolean.TRUE, "알림을 읽음 처리 했습니다.");
+        }
+
+        // 다른 사용자의 알림은 있는지도 알려주지 않는다
+        if (!inboxEntryRepository.existsByIdAndRecipientId(entryId, currentUser.getId())) {
+            throw new ResourceNotFoundException(INBOX, ID, entryId);
+        }
+
+        return new ApiResponse(Boolean.TRUE, "이미 읽은 알림입니다.");
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse markAllRead(UserPrincipal currentUser) {
+        // 알림 행은 건드리지 않고 커서만 옮긴다
+        InboxCursor inboxCursor = inboxCursorRepository.findForUpdate(currentUser.getId()).orElse(null);
+
+        if (inboxCursor == null) {
+            return new ApiResponse(Boolean.TRUE, "모든 알림을 읽음 처리 했습니다.");
+        }
+
+        Long maxId = inboxEntryRepository.findMaxId(currentUser.getId());
+        inboxCursor.setLastReadId(maxId == null ? 0L : maxId);
+        inboxCursor.setUnreadCount(0L);
+        inboxCursorRepository.save(inboxCursor);
+
+        return new ApiResponse(Boolean.TRUE, "모든 알림을 읽음 처리 했습니다.");
+    }
+
+}
@@ -4,12 +4,15 @@ import com.spring.blog.entity.Like;
 import com.spring.blog.entity.Post;
 import com.spring.blog.entity.User;
 import com.spring.blog.entity.common.LocalDate;
+import com.spring.blog.entity.common.UserStatType;
 import com.spring.blog.exception.ResourceNotFoundException;
 import com.spring.blog.repository.LikeRepository;
 import com.spring.blog.repository.PostRepository;
 import com.spring.blog.repository.UserRepository;
 import com.spring.blog.security.UserPrincipal;
 import com.spring.blog.service.LikeService;
+import com.spring.blog.service.PostRankService;
+import com.spring.blog.service.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +27,8 @@ public class LikeServiceImpl implements LikeService {
     private final PostRepository postRepository;
     private final LikeRepository likeRepository;
     private final UserRepository userRepository;
+    private final UserStatsService userStatsService;
+    private final PostRankService postRankService;
 
     @Override
     public boolean hasLikePost(Post post, Long userId) {
@@ -63,11 +68,13 @@ public class LikeServiceImpl implements LikeService {
                 .orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
         if (!hasLikePost(post, user.getId())) {
-            post.increaseLikeCount();
+            postRankService.adjustLikes(post.getId(), 1);
+            userStatsService.record(post.getUserId(), UserStatType.LIKES_RECEIVED, 1);
             return createLikePost(post, currentUser.getId());
         }
 
-        post.decreaseLikeCount();
+        postRankService.adjustLikes(post.getId(), -1);
+        userStatsService.record(post.getUserId(), UserStatType.LIKES_RECEIVED, -1);
         deleteLikePost(post, currentUser.getId());
         return null;
     }
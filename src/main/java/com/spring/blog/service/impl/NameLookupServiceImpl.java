@@ -0,0 +1,177 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.payload.response.NameLookupResponse;
+import com.spring.blog.payload.response.TagResponse;
+import com.spring.blog.service.NameLookupService;
+import com.spring.blog.service.TagCloudService;
+import com.spring.blog.utils.BkTree;
+import com.spring.blog.utils.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 오타를 허용하는 태그/카테고리 이름 조회.
+ * <p>
+ * 이름을 소문자로 바꾸고 문자/숫자만 남긴 key 로 BK-tree 를 만들어 메모리에 둔다 ("Spring-Boot" 와 "springboot" 는 같은 key).
+ * 태그/카테고리가 쓰이면 커밋 뒤에 트리에 넣고 빼며, 지워진 노드가 많아지면 트리를 새로 만든다.
+ * 허용 거리는 key 길이의 절반과 MAX_DISTANCE 를 넘지 않는다 (짧은 질의어가 거의 모든 이름과 맞지 않도록).
+ */
+@Service
+@RequiredArgsConstructor
+public class NameLookupServiceImpl implements NameLookupService, InitializingBean {
+
+    private static final Pattern NOT_KEY = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_DISTANCE = 3;
+    private static final int MAX_LIMIT = 30;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TagCloudService tagCloudService;
+
+    private final NameIndex tags = new NameIndex();
+    private final NameIndex categories = new NameIndex();
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.query("SELECT id, name FROM tags", rs -> {
+            tags.put(rs.getLong("id"), rs.getString("name"));
+        });
+        jdbcTemplate.query("SELECT id, name FROM categories", rs -> {
+            categories.put(rs.getLong("id"), rs.getString("name"));
+        });
+    }
+
+    @Override
+    public void putTag(Long tagId, String name) {
+        TransactionUtil.afterCommit(() -> tags.put(tagId, name));
+    }
+
+    @Override
+    public void removeTag(Long tagId) {
+        TransactionUtil.afterCommit(() -> tags.remove(tagId));
+    }
+
+    @Override
+    public void putCategory(Long categoryId, String name) {
+        TransactionUtil.afterCommit(() -> categories.put(categoryId, name));
+    }
+
+    @Override
+    public void removeCategory(Long categoryId) {
+        TransactionUtil.afterCommit(() -> categories.remove(categoryId));
+    }
+
+    /**
+     * 거리 오름차순, 같은 거리면 게시글 수가 많은 태그부터.
+     */
+    @Override
+    public List<NameLookupResponse> lookupTags(String query, int maxDistance, int limit) {
+        List<NameLookupResponse> matches = tags.search(query, maxDistance);
+
+        Map<Long, Long> postCounts = new HashMap<>();
+        for (TagResponse tag : tagCloudService.findByIds(matches.stream().map(NameLookupResponse::getId).toList())) {
+            postCounts.put(tag.getId(), tag.getPostCount());
+        }
+        matches.forEach(match -> match.setPostCount(postCounts.getOrDefault(match.getId(), 0L)));
+
+        return top(matches, Comparator.comparing(NameLookupResponse::getDistance)
+                .thenComparing(NameLookupResponse::getPostCount, Comparator.reverseOrder())
+                .thenComparing(NameLookupResponse::getName), limit);
+    }
+
+    @Override
+    public List<NameLookupResponse> lookupCategories(String query, int maxDistance, int limit) {
+        List<NameLookupResponse> matches = categories.search(query, maxDistance);
+
+        return top(matches, Comparator.comparing(NameLookupResponse::getDistance)
+                .thenComparing(NameLookupResponse::getName), limit);
+    }
+
+    private static List<NameLookupResponse> top(List<NameLookupResponse> matches, Comparator<NameLookupResponse> comparator, int limit) {
+        matches.sort(comparator);
+        return matches.subList(0, Math.min(matches.size(), Math.max(Math.min(limit, MAX_LIMIT), 0)));
+    }
+
+    private static String keyOf(String name) {
+        return NOT_KEY.matcher(name.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /**
+     * 이름 하나의 색인. 검색은 read lock, 넣고 빼기는 write lock 으로 막는다.
+     */
+    private static final class NameIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, String> names = new HashMap<>();
+        private BkTree<Long> tree = new BkTree<>();
+
+        private void put(Long id, String name) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(id);
+                if (name == null || keyOf(name).isEmpty()) {
+                    return;
+                }
+                names.put(id, name);
+                tree.add(keyOf(name), id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long id) {
+            String name = names.remove(id);
+            if (name == null) {
+                return;
+            }
+            tree.remove(keyOf(name), id);
+
+            // 값이 빠진 노드는 남아 있으므로 절반 이상이 비면 다시 만든다
+            if (tree.nodeCount() > 2 * tree.size() + 64) {
+                BkTree<Long> rebuilt = new BkTree<>();
+                names.forEach((key, value) -> rebuilt.add(keyOf(value), key));
+                tree = rebuilt;
+            }
+        }
+
+        private List<NameLookupResponse> search(String query, int maxDistance) {
+            if (query == null) {
+                return new ArrayList<>();
+            }
+
+            String key = keyOf(query);
+            int allowed = Math.min(Math.min(maxDistance, MAX_DISTANCE), key.length() / 2);
+            if (key.isEmpty() || allowed < 0) {
+                return new ArrayList<>();
+            }
+
+            List<NameLookupResponse> matches = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                tree.search(key, allowed, (id, distance) -> matches.add(NameLookupResponse.builder()
+                        .id(id)
+                        .name(names.get(id))
+                        .distance(distance)
+                        .build()));
+            } finally {
+                lock.readLock().unlock();
+            }
+            return matches;
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.service.InboxService;
+import com.spring.blog.service.NotificationDigestService;
+import com.spring.blog.utils.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 알림을 바로 쓰지 않고 사용자별로 모았다가 (게시글, 종류) 단위로 합쳐서 한 번에 보낸다.
+ * <p>
+ * 사용자의 첫 알림이 들어오면 window 뒤에 flush 하도록 timing wheel 에 걸어두고, 그 사이 들어온 알림은 개수만 센다.
+ * 메모리에만 모으므로 비정상 종료 시 window 안의 알림은 사라질 수 있다. 정상 종료 시에는 모두 보낸다.
+ */
+@Service
+public class NotificationDigestServiceImpl implements NotificationDigestService, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDigestServiceImpl.class);
+
+    private static final long TICK_MILLIS = 1_000L;
+    private static final int SLOTS_PER_LEVEL = 60;
+    private static final int LEVELS = 3;
+
+    private final InboxService inboxService;
+    private final long windowMillis;
+
+    private final Map<Long, Map<DigestKey, DigestGroup>> pending = new ConcurrentHashMap<>();
+    private final List<Long> due = new ArrayList<>();
+    private final TimingWheel timingWheel;
+    private ScheduledExecutorService executor;
+
+    public NotificationDigestServiceImpl(
+            InboxService inboxService,
+            @Value("${notification.digest.window-seconds:60}") long windowSeconds) {
+        this.inboxService = inboxService;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.timingWheel = new TimingWheel(TICK_MILLIS, SLOTS_PER_LEVEL, LEVELS, System.currentTimeMillis(), due::add);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        flushAll();
+    }
+
+    @Override
+    public void record(Long recipientId, String type, String label, Long postId, String postTitle) {
+        boolean[] first = new boolean[1];
+
+        pending.compute(recipientId, (key, groups) -> {
+            if (groups == null) {
+                groups = new LinkedHashMap<>();
+                first[0] = true;
+            }
+            groups.computeIfAbsent(new DigestKey(type, postId), k -> new DigestGroup(label, postTitle)).count++;
+            return groups;
+        });
+
+        if (first[0]) {
+            synchronized (timingWheel) {
+                timingWheel.add(recipientId, System.currentTimeMillis() + windowMillis);
+            }
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        for (Long recipientId : new ArrayList<>(pending.keySet())) {
+            flush(recipientId);
+        }
+    }
+
+    private void tick() {
+        List<Long> recipients;
+        synchronized (timingWheel) {
+            timingWheel.advance(System.currentTimeMillis());
+            recipients = new ArrayList<>(due);
+            due.clear();
+        }
+
+        for (Long recipientId : recipients) {
+            flush(recipientId);
+        }
+    }
+
+    private void flush(Long recipientId) {
+        Map<DigestKey, DigestGroup> groups = pending.remove(recipientId);
+        if (groups == null) {
+            return;
+        }
+
+        for (Map.Entry<DigestKey, DigestGroup> entry : groups.entrySet()) {
+            DigestKey key = entry.getKey();
+            DigestGroup group = entry.getValue();
+            try {
+                inboxService.deliver(recipientId, key.type, titleOf(group.label, group.count), group.postTitle, key.postId);
+            } catch (RuntimeException ex) {
+                LOGGER.warn("notification digest delivery failed for user {}", recipientId, ex);
+            }
+        }
+    }
+
+    // "새 댓글", "새 댓글 12개"
+    private String titleOf(String label, int count) {
+        return count == 1 ? "새 " + label : "새 " + label + " " + count + "개";
+    }
+
+    private static class DigestKey {
+        private final String type;
+        private final Long postId;
+
+        DigestKey(String type, Long postId) {
+            this.type = type;
+            this.postId = postId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DigestKey)) {
+                return false;
+            }
+            DigestKey other = (DigestKey) o;
+            return Objects.equals(type, other.type) && Objects.equals(postId, other.postId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, postId);
+        }
+    }
+
+    private static class DigestGroup {
+        private final String label;
+        private final String postTitle;
+        private int count;
+
+        DigestGroup(String label, String postTitle) {
+            this.label = label;
+            this.postTitle = postTitle;
+        }
+    }
+
+}
@@ -10,10 +10,14 @@ import com.spring.blog.payload.ApiResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.NotificationRequestDto;
 import com.spring.blog.payload.response.NotificationResponse;
+import com.spring.blog.entity.InboxCursor;
+import com.spring.blog.repository.InboxCursorRepository;
 import com.spring.blog.repository.NotificationRepository;
 import com.spring.blog.repository.UserRepository;
 import com.spring.blog.security.UserPrincipal;
 import com.spring.blog.service.NotificationService;
+import com.spring.blog.utils.AnnouncementSequence;
+import com.spring.blog.utils.SortRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -35,13 +39,14 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final InboxCursorRepository inboxCursorRepository;
+    private final AnnouncementSequence announcementSequence;
 
 
     @Override
     @Transactional(readOnly = true)
     public PageResponse<NotificationResponse> findAllNotifications(int pageNo, int pageSize, String sortBy, String sortDir, String title, String content) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = SortRegistry.NOTIFICATIONS.resolve(sortBy, sortDir);
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
 
@@ -64,6 +69,7 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
+    @Transactional
     public NotificationResponse createNotification(NotificationRequestDto dto, UserPrincipal currentUser) {
         User user = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException(USER, ID, 1L));
@@ -72,6 +78,7 @@ public class NotificationServiceImpl implements NotificationService {
                 .user(user)
                 .title(dto.getTitle())
                 .content(dto.getContent())
+                .sequence(announcementSequence.next())
                 .date(LocalDate.builder()
                         .createdAt(LocalDateTime.now())
                         .build())
@@ -100,6 +107,7 @@ public class NotificationServiceImpl implements NotificationService {
             findByNotification.setTitle(dto.getTitle());
             findByNotification.setContent(dto.getContent());
             findByNotification.setDate(LocalDate.builder()
+                    .createdAt(findByNotification.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
             return notificationRepository.save(findByNotification);
@@ -172,4 +180,20 @@ public class NotificationServiceImpl implements NotificationService {
 
         throw new UnauthorizedException(apiResponse);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countUnreadAnnouncements(UserPrincipal currentUser) {
+        long lastSeen = inboxCursorRepository.findById(currentUser.getId()).map(InboxCursor::getLastSeenAnnouncement).orElse(0L);
+
+        return Math.max(0L, announcementSequence.latest() - lastSeen);
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse markAnnouncementsSeen(UserPrincipal currentUser) {
+        inboxCursorRepository.markAnnouncementsSeen(currentUser.getId(), announcementSequence.latest());
+
+        return new ApiResponse(Boolean.TRUE, "공지사항을 모두 확인 했습니다.");
+    }
 }
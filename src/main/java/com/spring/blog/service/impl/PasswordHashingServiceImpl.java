@@ -0,0 +1,157 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.payload.response.PasswordHashingResponse;
+import com.spring.blog.repository.UserRepository;
+import com.spring.blog.service.PasswordHashingService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BCrypt 해시 서비스.
+ * <p>
+ * 시작할 때 현재 장비에서 해시 한 번에 걸리는 시간을 재서, 목표 지연 시간을 넘지 않는 가장 큰 cost 를 고른다.
+ * cost 는 해시 문자열($2a$NN$...)에 함께 저장되므로, 로그인에 성공했을 때 저장된 cost 가 허용 범위를 벗어나 있으면 다시 해시한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingServiceImpl implements PasswordHashingService, InitializingBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashingServiceImpl.class);
+
+    private static final String CALIBRATION_PASSWORD = "password-hashing-calibration";
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final UserRepository userRepository;
+
+    @Value("${password.hashing.target-millis:250}")
+    private long targetMillis;
+    @Value("${password.hashing.min-cost:10}")
+    private int minCost;
+    @Value("${password.hashing.max-cost:14}")
+    private int maxCost;
+
+    private volatile int cost;
+
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder verifyCount = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final AtomicLong maxVerifyNanos = new AtomicLong();
+    private final LongAdder rehashCount = new LongAdder();
+
+    @Override
+    public void afterPropertiesSet() {
+        long nanosAtMinCost = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(CALIBRATION_PASSWORD, BCrypt.gensalt(minCost));
+            nanosAtMinCost = Math.min(nanosAtMinCost, System.nanoTime() - start);
+        }
+
+        // cost 가 1 오를 때마다 걸리는 시간은 두 배가 된다
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        int selected = minCost;
+        long estimated = nanosAtMinCost;
+        while (selected < maxCost && estimated * 2 <= targetNanos) {
+            selected++;
+            estimated *= 2;
+        }
+        this.cost = selected;
+
+        LOGGER.info("BCrypt cost {} selected ({} ms at cost {}, target {} ms)",
+                cost, TimeUnit.NANOSECONDS.toMillis(nanosAtMinCost), minCost, targetMillis);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        long start = System.nanoTime();
+        String hashed = BCrypt.hashpw(rawPassword, BCrypt.gensalt(cost));
+
+        hashCount.increment();
+        hashNanos.add(System.nanoTime() - start);
+        return hashed;
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String hashedPassword) {
+        long start = System.nanoTime();
+        boolean matches;
+        try {
+            matches = BCrypt.checkpw(rawPassword, hashedPassword);
+        } catch (IllegalArgumentException ex) {
+            // BCrypt 형식이 아닌 비밀번호
+            matches = false;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        verifyCount.increment();
+        verifyNanos.add(elapsed);
+        maxVerifyNanos.accumulateAndGet(elapsed, Math::max);
+        return matches;
+    }
+
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        int storedCost = costOf(hashedPassword);
+        return storedCost < cost || storedCost > maxCost;
+    }
+
+    @Override
+    public void rehashIfNeeded(Long userId, String rawPassword, String hashedPassword) {
+        if (!needsRehash(hashedPassword)) {
+            return;
+        }
+
+        // 그 사이 비밀번호가 바뀌었으면 0 건이 갱신되고, 새 비밀번호를 덮어쓰지 않는다
+        if (userRepository.updatePassword(userId, hashedPassword, hash(rawPassword)) > 0) {
+            rehashCount.increment();
+        }
+    }
+
+    @Override
+    public PasswordHashingResponse getStats() {
+        return PasswordHashingResponse.builder()
+                .cost(cost)
+                .minCost(minCost)
+                .maxCost(maxCost)
+                .targetMillis(targetMillis)
+                .hashCount(hashCount.sum())
+                .averageHashMillis(averageMillis(hashNanos.sum(), hashCount.sum()))
+                .verifyCount(verifyCount.sum())
+                .averageVerifyMillis(averageMillis(verifyNanos.sum(), verifyCount.sum()))
+                .maxVerifyMillis(maxVerifyNanos.get() / 1_000_000.0)
+                .rehashCount(rehashCount.sum())
+                .build();
+    }
+
+    private static double averageMillis(long nanos, long count) {
+        return count == 0 ? 0 : nanos / 1_000_000.0 / count;
+    }
+
+    private static int costOf(String hashedPassword) {
+        // $2a$10$...
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+
+        int costStart = hashedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 > hashedPassword.length()) {
+            return -1;
+        }
+
+        try {
+            return Integer.parseInt(hashedPassword.substring(costStart, costStart + 2));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+}
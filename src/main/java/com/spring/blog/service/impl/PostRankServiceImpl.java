@@ -0,0 +1,40 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.service.PostRankService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * 게시글 정렬용 순위 컬럼 (posts.liked, posts.comment_count).
+ * <p>
+ * 좋아요/공개 댓글 수를 posts 에 미리 세어 두어 (is_enable, liked, id) 와 (is_enable, comment_count, id) 인덱스 순서로 정렬한다.
+ * 두 컬럼 모두 엔티티로는 쓰지 않고 (updatable = false) 여기서 한 행 UPDATE 로만 증감하므로, 게시글을 저장해도 덮어쓰지 않고
+ * 동시에 눌러도 잃지 않는다. 호출하는 쪽의 트랜잭션 안에서 likes/comments 변경과 같이 commit 된다.
+ * 기존 행의 값은 SchemaMigrations 에서 한 번만 다시 센다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostRankServiceImpl implements PostRankService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void adjustLikes(Long postId, int delta) {
+        adjust("liked", postId, delta);
+    }
+
+    @Override
+    public void adjustComments(Long postId, int delta) {
+        adjust("comment_count", postId, delta);
+    }
+
+    private void adjust(String column, Long postId, int delta) {
+        if (postId == null || delta == 0) {
+            return;
+        }
+
+        jdbcTemplate.update("UPDATE posts SET " + column + " = GREATEST(" + column + " + ?, 0) WHERE id = ?", delta, postId);
+    }
+
+}
@@ -3,18 +3,33 @@ package com.spring.blog.service.impl;
 import com.spring.blog.entity.*;
 import com.spring.blog.entity.common.LocalDate;
 import com.spring.blog.entity.common.RoleName;
+import com.spring.blog.entity.common.UserStatType;
+import com.spring.blog.exception.BadRequestException;
 import com.spring.blog.exception.ResourceNotFoundException;
 import com.spring.blog.exception.UnauthorizedException;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.PostRequestDto;
+import com.spring.blog.payload.response.ArchiveBucketResponse;
 import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.repository.CategoryRepository;
 import com.spring.blog.repository.PostRepository;
 import com.spring.blog.repository.TagRepository;
 import com.spring.blog.repository.UserRepository;
 import com.spring.blog.security.UserPrincipal;
+import com.spring.blog.service.ArchiveService;
+import com.spring.blog.service.CategoryTreeService;
 import com.spring.blog.service.PostService;
+import com.spring.blog.service.TagCloudService;
+import com.spring.blog.service.TagDictionaryService;
+import com.spring.blog.service.TagSuggestionService;
+import com.spring.blog.service.UserSummaryService;
+import com.spring.blog.service.UserStatsService;
+import com.spring.blog.utils.HtmlSanitizerUtil;
+import com.spring.blog.utils.SortRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -25,8 +40,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.spring.blog.utils.AppConstants.*;
@@ -38,6 +60,13 @@ public class PostServiceImpl implements PostService {
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final TagDictionaryService tagDictionaryService;
+    private final TagCloudService tagCloudService;
+    private final TagSuggestionService tagSuggestionService;
+    private final CategoryTreeService categoryTreeService;
+    private final ArchiveService archiveService;
+    private final UserSummaryService userSummaryService;
+    private final UserStatsService userStatsService;
 
     /*
         TODO 검색 기능 고도화 작업 해야함
@@ -45,8 +74,7 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<PostResponse> findAllPosts(int pageNo, int pageSize, String sortBy, String sortDir, String title, String content) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = SortRegistry.POSTS.resolve(sortBy, sortDir);
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
 
@@ -54,7 +82,8 @@ public class PostServiceImpl implements PostService {
 
         List<Post> listOfPosts = posts.getContent();
 
-        List<PostResponse> postResponses = listOfPosts.stream().map(PostResponse::convertToPostResponse).collect(Collectors.toList());
+        List<PostResponse> postResponses = userSummaryService.attachAuthors(
+                listOfPosts.stream().map(PostResponse::convertToPostResponse).collect(Collectors.toList()));
 
         PageResponse<PostResponse> pageResource = new PageResponse<>();
 
@@ -69,50 +98,62 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
+    @Transactional
     public PostResponse createPost(PostRequestDto dto, UserPrincipal currentUser) {
         Category category = categoryRepository.findById(dto.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, dto.getCategoryId()));
 
-        /*List<Tag> tags = new ArrayList<>(dto.getTags().size());
-
-        //게시글 등록 시, 태그 기능 등록
-        for (String name : dto.getTags()) {
-            Tag tag = tagRepository.findByName(name);
-            tag = tag == null ? tagRepository.save(new Tag(name)) : tag;
-
-            tags.add(tag);
-        }*/
+        //게시글 등록 시, 태그 기능 등록 (태그 목록을 한 번에 id 로 변환)
+        List<String> tagNames = tagDictionaryService.normalize(dto.getTags());
+        List<Long> tagIds = tagDictionaryService.resolve(tagNames);
 
         if (category != null) {
             Post post = Post.builder()
                     .title(dto.getTitle())
-                    .content(dto.getContent())
+                    .content(HtmlSanitizerUtil.sanitize(dto.getContent()))
                     .date(LocalDate.builder()
                             .createdAt(LocalDateTime.now())
                             .build())
                     .userId(currentUser.getId())
                     .category(category)
-                    //.tags(tags)
+                    .liked(0)
                     .isEnable(0)
                     .build();
 
             Post createPost = postRepository.save(post);
-            return PostResponse.createPostResponse(createPost);
+            categoryTreeService.adjust(category.getId(), 1);
+            archiveService.record(createPost.getId(), createPost.getDate().getCreatedAt(), category.getId(), 1);
+            userStatsService.record(currentUser.getId(), UserStatType.POSTS, 1);
+            tagDictionaryService.attach(createPost.getId(), tagIds);
+            tagCloudService.adjust(tagIds, 1);
+            tagSuggestionService.record(createPost.getTitle(), tagIds, 1);
+
+            PostResponse postResponse = PostResponse.createPostResponse(createPost);
+            postResponse.setTags(tagNames);
+            return postResponse;
         }
 
         Post post = Post.builder()
                 .title(dto.getTitle())
-                .content(dto.getContent())
+                .content(HtmlSanitizerUtil.sanitize(dto.getContent()))
                 .date(LocalDate.builder()
                         .createdAt(LocalDateTime.now())
                         .build())
                 .userId(currentUser.getId())
-                //.tags(tags)
+                .liked(0)
                 .isEnable(0)
                 .build();
 
         Post createPost = postRepository.save(post);
-        return PostResponse.createPostResponse(createPost);
+        archiveService.record(createPost.getId(), createPost.getDate().getCreatedAt(), null, 1);
+        userStatsService.record(currentUser.getId(), UserStatType.POSTS, 1);
+        tagDictionaryService.attach(createPost.getId(), tagIds);
+        tagCloudService.adjust(tagIds, 1);
+        tagSuggestionService.record(createPost.getTitle(), tagIds, 1);
+
+        PostResponse postResponse = PostResponse.createPostResponse(createPost);
+        postResponse.setTags(tagNames);
+        return postResponse;
     }
 
     @Override
@@ -120,7 +161,29 @@ public class PostServiceImpl implements PostService {
         return postRepository.findById(postId).orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
     }
 
+    /**
+     * 여러 게시글을 IN 조회 한 번으로 읽는다. 비공개 게시글은 없는 id 로 돌려준다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MultiGetResponse<PostResponse> findPosts(List<Long> postIds) {
+        List<Long> ids = MultiGetResponse.requestedIds(postIds);
+
+        Map<Long, PostResponse> found = new HashMap<>();
+        for (Post post : postRepository.findAllById(ids)) {
+            if (isPublic(post)) {
+                found.put(post.getId(), PostResponse.convertToPostResponse(post));
+            }
+        }
+
+        MultiGetResponse<PostResponse> multiGetResponse = MultiGetResponse.of(ids, found);
+        userSummaryService.attachAuthors(multiGetResponse.getContent());
+
+        return multiGetResponse;
+    }
+
     @Override
+    @Transactional
     public Post updatePost(Long postId, PostRequestDto dto, UserPrincipal currentUser) {
         Category category = categoryRepository.findById(dto.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException(CATEGORY, ID, dto.getCategoryId()));
@@ -130,12 +193,37 @@ public class PostServiceImpl implements PostService {
 
         if (findByPost.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+            String previousTitle = findByPost.getTitle();
+            Long previousCategoryId = categoryIdOf(findByPost);
+            List<Long> previousTagIds = tagDictionaryService.findTagIds(postId);
+
             findByPost.setTitle(dto.getTitle());
-            findByPost.setContent(dto.getContent());
+            findByPost.setContent(HtmlSanitizerUtil.sanitize(dto.getContent()));
             findByPost.setDate(LocalDate.builder()
+                    .createdAt(findByPost.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
             findByPost.setCategory(category);
+
+            //태그 목록이 오면 바뀐 태그만 붙이고 뗀다
+            List<Long> tagIds = previousTagIds;
+            if (dto.getTags() != null) {
+                tagIds = tagDictionaryService.resolve(tagDictionaryService.normalize(dto.getTags()));
+                replaceTags(findByPost, previousTagIds, tagIds);
+            }
+
+            if (isPublic(findByPost)) {
+                tagSuggestionService.record(previousTitle, previousTagIds, -1);
+                tagSuggestionService.record(findByPost.getTitle(), tagIds, 1);
+
+                if (!category.getId().equals(previousCategoryId)) {
+                    categoryTreeService.adjust(previousCategoryId, -1);
+                    categoryTreeService.adjust(category.getId(), 1);
+                    archiveService.record(postId, findByPost.getDate().getCreatedAt(), previousCategoryId, -1);
+                    archiveService.record(postId, findByPost.getDate().getCreatedAt(), category.getId(), 1);
+                }
+            }
+
             return postRepository.save(findByPost);
         }
 
@@ -145,12 +233,21 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
+    @Transactional
     public ApiResponse deletePost(Long postId, UserPrincipal currentUser) {
         Post findByPost = postRepository.findById(postId).orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
         if (findByPost.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
 
+            if (isPublic(findByPost)) {
+                List<Long> tagIds = tagDictionaryService.findTagIds(postId);
+                tagCloudService.adjust(tagIds, -1);
+                tagSuggestionService.record(findByPost.getTitle(), tagIds, -1);
+                categoryTreeService.adjust(categoryIdOf(findByPost), -1);
+                archiveService.record(postId, findByPost.getDate().getCreatedAt(), categoryIdOf(findByPost), -1);
+                userStatsService.record(findByPost.getUserId(), UserStatType.POSTS, -1);
+            }
             postRepository.deleteById(postId);
 
             return new ApiResponse(Boolean.TRUE, "게시물이 삭제 되었습니다.");
@@ -162,14 +259,24 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
+    @Transactional
     public Post isEnable(Long postId,UserPrincipal currentUser) {
         Post findByPost = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
         if (findByPost.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+            if (!isPublic(findByPost)) {
+                List<Long> tagIds = tagDictionaryService.findTagIds(postId);
+                tagCloudService.adjust(tagIds, 1);
+                tagSuggestionService.record(findByPost.getTitle(), tagIds, 1);
+                categoryTreeService.adjust(categoryIdOf(findByPost), 1);
+                archiveService.record(postId, findByPost.getDate().getCreatedAt(), categoryIdOf(findByPost), 1);
+                userStatsService.record(findByPost.getUserId(), UserStatType.POSTS, 1);
+            }
             findByPost.setIsEnable(0);
             findByPost.setDate(LocalDate.builder()
+                    .createdAt(findByPost.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
             return postRepository.save(findByPost);
@@ -181,14 +288,24 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
+    @Transactional
     public Post isUnable(Long postId, UserPrincipal currentUser) {
         Post findByPost = postRepository.findById(postId)
                 .orElseThrow(() -> new ResourceNotFoundException(POST, ID, postId));
 
         if (findByPost.getUserId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+            if (isPublic(findByPost)) {
+                List<Long> tagIds = tagDictionaryService.findTagIds(postId);
+                tagCloudService.adjust(tagIds, -1);
+                tagSuggestionService.record(findByPost.getTitle(), tagIds, -1);
+                categoryTreeService.adjust(categoryIdOf(findByPost), -1);
+                archiveService.record(postId, findByPost.getDate().getCreatedAt(), categoryIdOf(findByPost), -1);
+                userStatsService.record(findByPost.getUserId(), UserStatType.POSTS, -1);
+            }
             findByPost.setIsEnable(1);
             findByPost.setDate(LocalDate.builder()
+                    .createdAt(findByPost.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
             return postRepository.save(findByPost);
@@ -199,4 +316,47 @@ public class PostServiceImpl implements PostService {
         throw new UnauthorizedException(apiResponse);
     }
 
+    @Override
+    public List<ArchiveBucketResponse> findArchive(Long categoryId) {
+        return archiveService.findBuckets(categoryId);
+    }
+
+    @Override
+    public CursorResponse<PostSummaryResponse> findArchivePosts(String month, Long categoryId, Long cursor, int pageSize) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "보관함 월은 yyyy-MM 형식이어야 합니다.");
+            throw new BadRequestException(apiResponse);
+        }
+
+        return archiveService.findPosts(yearMonth, categoryId, cursor, pageSize);
+    }
+
+    private void replaceTags(Post post, List<Long> currentTagIds, List<Long> tagIds) {
+        Set<Long> current = new HashSet<>(currentTagIds);
+        Set<Long> next = new LinkedHashSet<>(tagIds);
+
+        List<Long> added = next.stream().filter(tagId -> !current.contains(tagId)).toList();
+        List<Long> removed = current.stream().filter(tagId -> !next.contains(tagId)).toList();
+
+        tagDictionaryService.attach(post.getId(), added);
+        tagDictionaryService.detach(post.getId(), removed);
+
+        if (isPublic(post)) {
+            tagCloudService.adjust(added, 1);
+            tagCloudService.adjust(removed, -1);
+        }
+    }
+
+    private Long categoryIdOf(Post post) {
+        return post.getCategory() == null ? null : post.getCategory().getId();
+    }
+
+    // isEnable 0 이 공개
+    private boolean isPublic(Post post) {
+        return post.getIsEnable() != null && post.getIsEnable() == 0;
+    }
+
 }
@@ -0,0 +1,207 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.exception.BadRequestException;
+import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.response.TagResponse;
+import com.spring.blog.service.TagCloudService;
+import com.spring.blog.utils.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.spring.blog.utils.AppConstants.ID;
+
+/**
+ * 태그별 공개 게시글 수.
+ * <p>
+ * 게시글에 태그가 붙거나 떨어질 때, 게시글이 공개/비공개로 바뀔 때 tags.post_count 를 같은 트랜잭션에서 증감하고,
+ * 커밋되면 메모리 표에도 반영한다. 태그 목록과 태그 클라우드는 메모리 표만 보고 post_tag 는 읽지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TagCloudServiceImpl implements TagCloudService, InitializingBean {
+
+    private static final String POST_COUNT = "postCount";
+    private static final String NAME = "name";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final Map<Long, TagCount> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.query("SELECT id, name, post_count FROM tags",
+                rs -> {
+                    counts.put(rs.getLong("id"), new TagCount(rs.getString("name"), rs.getLong("post_count")));
+                });
+    }
+
+    @Override
+    public void adjust(Collection<Long> tagIds, int delta) {
+        if (tagIds.isEmpty() || delta == 0) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(tagIds);
+        namedParameterJdbcTemplate.update("UPDATE tags SET post_count = GREATEST(post_count + :delta, 0) WHERE id IN (:ids)",
+                new MapSqlParameterSource("delta", delta).addValue("ids", ids));
+
+        TransactionUtil.afterCommit(() -> applyInMemory(ids, delta));
+    }
+
+    @Override
+    public void register(Long tagId, String name) {
+        TransactionUtil.afterCommit(() -> counts.computeIfAbsent(tagId, id -> new TagCount(name, 0L)).name = name);
+    }
+
+    @Override
+    public void remove(Long tagId) {
+        TransactionUtil.afterCommit(() -> counts.remove(tagId));
+    }
+
+    @Override
+    public PageResponse<TagResponse> findPage(int pageNo, int pageSize, String sortBy, String sortDir) {
+        List<TagResponse> snapshot = snapshot();
+
+        Comparator<TagResponse> comparator = comparatorOf(sortBy);
+        if (!sortDir.equalsIgnoreCase(Sort.Direction.ASC.name())) {
+            comparator = comparator.reversed();
+        }
+        snapshot.sort(comparator);
+
+        int from = (int) Math.min((long) pageNo * pageSize, snapshot.size());
+        int to = Math.min(from + pageSize, snapshot.size());
+
+        PageResponse<TagResponse> pageResource = new PageResponse<>();
+
+        pageResource.setContent(new ArrayList<>(snapshot.subList(from, to)));
+        pageResource.setPageNo(pageNo);
+        pageResource.setPageSize(pageSize);
+        pageResource.setTotalElements(snapshot.size());
+        pageResource.setTotalPages(pageSize == 0 ? 0 : (snapshot.size() + pageSize - 1) / pageSize);
+        pageResource.setLast(to == snapshot.size());
+
+        return pageResource;
+    }
+
+    /**
+     * 게시글 수 상위 limit 개. 전체를 정렬하지 않고 크기 limit 인 heap 으로 고른다.
+     */
+    @Override
+    public List<TagResponse> findTop(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        Comparator<TagResponse> byCount = comparatorOf(POST_COUNT);
+        PriorityQueue<TagResponse> heap = new PriorityQueue<>(limit, byCount);
+
+        for (Map.Entry<Long, TagCount> entry : counts.entrySet()) {
+            long count = entry.getValue().count.get();
+            if (count == 0) {
+                continue;
+            }
+
+            TagResponse tag = toResponse(entry.getKey(), entry.getValue(), count);
+            if (heap.size() < limit) {
+                heap.add(tag);
+            } else if (byCount.compare(tag, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(tag);
+            }
+        }
+
+        List<TagResponse> top = new ArrayList<>(heap);
+        top.sort(byCount.reversed());
+        return top;
+    }
+
+    @Override
+    public List<TagResponse> findByIds(List<Long> tagIds) {
+        List<TagResponse> tags = new ArrayList<>(tagIds.size());
+        for (Long tagId : tagIds) {
+            TagCount tagCount = counts.get(tagId);
+            if (tagCount != null) {
+                tags.add(toResponse(tagId, tagCount, tagCount.count.get()));
+            }
+        }
+        return tags;
+    }
+
+    private void applyInMemory(List<Long> ids, int delta) {
+        List<Long> unknown = new ArrayList<>();
+
+        for (Long id : ids) {
+            TagCount tagCount = counts.get(id);
+            if (tagCount == null) {
+                unknown.add(id);
+            } else {
+                tagCount.count.updateAndGet(count -> Math.max(count + delta, 0));
+            }
+        }
+
+        // 새로 만들어진 태그는 DB 에 반영된 값으로 가져온다
+        if (!unknown.isEmpty()) {
+            namedParameterJdbcTemplate.query("SELECT id, name, post_count FROM tags WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", unknown),
+                    rs -> {
+                        counts.putIfAbsent(rs.getLong("id"), new TagCount(rs.getString("name"), rs.getLong("post_count")));
+                    });
+        }
+    }
+
+    private List<TagResponse> snapshot() {
+        List<TagResponse> snapshot = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, TagCount> entry : counts.entrySet()) {
+            snapshot.add(toResponse(entry.getKey(), entry.getValue(), entry.getValue().count.get()));
+        }
+        return snapshot;
+    }
+
+    private static Comparator<TagResponse> comparatorOf(String sortBy) {
+        Comparator<TagResponse> byId = Comparator.comparing(TagResponse::getId);
+
+        if (POST_COUNT.equals(sortBy)) {
+            return Comparator.comparing(TagResponse::getPostCount).thenComparing(byId);
+        }
+        if (NAME.equals(sortBy)) {
+            return Comparator.comparing(TagResponse::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)).thenComparing(byId);
+        }
+        if (ID.equals(sortBy)) {
+            return byId;
+        }
+
+        // 메모리 표라 인덱스는 없지만 다른 목록과 같이 모르는 정렬 key 는 거절한다
+        ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "정렬할 수 없는 항목입니다. 가능한 항목: " + String.join(", ", ID, NAME, POST_COUNT));
+        throw new BadRequestException(apiResponse);
+    }
+
+    private static TagResponse toResponse(Long id, TagCount tagCount, long count) {
+        return TagResponse.builder()
+                .id(id)
+                .name(tagCount.name)
+                .postCount(count)
+                .build();
+    }
+
+    private static class TagCount {
+        private volatile String name;
+        private final AtomicLong count;
+
+        TagCount(String name, long count) {
+            this.name = name;
+            this.count = new AtomicLong(count);
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.exception.BadRequestException;
+import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.service.NameLookupService;
+import com.spring.blog.service.TagDictionaryService;
+import com.spring.blog.utils.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 태그 이름 -> id 사전.
+ * <p>
+ * 이름은 메모리에 intern 해두고, 게시글의 태그 목록은 한 번에 풀어낸다. 사전에 없는 태그는 batch upsert 로 넣고
+ * 잠금 읽기로 id 를 가져오므로, 같은 태그를 동시에 만드는 요청이 있어도 unique 제약 오류가 나지 않는다.
+ * 메모리 사전은 대소문자만 무시하고, 그 밖의 같은 이름 판단 (악센트 등) 은 DB collation 에 맡긴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TagDictionaryServiceImpl implements TagDictionaryService, InitializingBean {
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final NameLookupService nameLookupService;
+
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.query("SELECT id, name FROM tags", rs -> {
+            String name = rs.getString("name");
+            if (name != null) {
+                ids.put(keyOf(name), rs.getLong("id"));
+            }
+        });
+    }
+
+    @Override
+    public List<String> normalize(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, String> unique = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name == null) {
+                continue;
+            }
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty() && trimmed.length() <= MAX_NAME_LENGTH) {
+                unique.putIfAbsent(keyOf(trimmed), trimmed);
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    /**
+     * 정리된 태그 이름 목록을 같은 순서의 id 목록으로 바꾼다.
+     * 사전에 없는 이름은 batch upsert 뒤에 이름마다 잠금 읽기로 id 를 가져온다. 잠금 읽기는 트랜잭션 스냅샷이 아니라
+     * 최신 커밋을 보므로 그 사이 다른 트랜잭션이 넣은 태그도 찾고, 비교는 DB collation 으로 하므로
+     * 대소문자/악센트만 다른 기존 태그 ("cafe" -> "Café") 도 그 태그의 id 로 풀린다.
+     * 새로 찾은 id 는 호출한 트랜잭션이 커밋된 뒤에 사전에 넣는다 (롤백되면 없는 id 가 남지 않도록).
+     */
+    @Override
+    public List<Long> resolve(List<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Long> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Long id = ids.get(keyOf(name));
+            if (id == null) {
+                missing.add(name);
+            } else {
+                resolved.put(keyOf(name), id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, Long> inserted = new HashMap<>();
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            // 이미 있는 이름은 건너뛴다 (id = id 는 아무것도 바꾸지 않는다)
+            jdbcTemplate.batchUpdate("INSERT INTO tags (name, post_count, created_at) VALUES (?, 0, ?) ON DUPLICATE KEY UPDATE id = id",
+                    missing, missing.size(), (ps, name) -> {
+                        ps.setString(1, name);
+                        ps.setTimestamp(2, now);
+                    });
+
+            for (String name : missing) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, name FROM tags WHERE name = ? FOR UPDATE", name);
+                if (rows.isEmpty()) {
+                    throw new BadRequestException(new ApiResponse(Boolean.FALSE, "태그를 만들 수 없습니다: " + name));
+                }
+
+                Long id = ((Number) rows.get(0).get("id")).longValue();
+                inserted.put(keyOf(name), id);
+                nameLookupService.putTag(id, (String) rows.get(0).get("name"));
+            }
+
+            resolved.putAll(inserted);
+            TransactionUtil.afterCommit(() -> ids.putAll(inserted));
+        }
+
+        List<Long> tagIds = new ArrayList<>(names.size());
+        for (String name : names) {
+            tagIds.add(resolved.get(keyOf(name)));
+        }
+        return tagIds;
+    }
+
+    /**
+     * 사전에 이미 있는 이름만 id 로 바꾼다. 없는 태그를 만들지 않으므로 조회에서 쓴다.
+     */
+    @Override
+    public List<Long> lookup(List<String> names) {
+        List<Long> tagIds = new ArrayList<>(names.size());
+        for (String name : names) {
+            Long id = ids.get(keyOf(name));
+            if (id != null) {
+                tagIds.add(id);
+            }
+        }
+        return tagIds;
+    }
+
+    @Override
+    public void attach(Long postId, List<Long> tagIds) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO post_tag (post_id, tag_id) VALUES (?, ?)",
+                tagIds, tagIds.size(), (ps, tagId) -> {
+                    ps.setLong(1, postId);
+                    ps.setLong(2, tagId);
+                });
+    }
+
+    @Override
+    public List<Long> findTagIds(Long postId) {
+        return jdbcTemplate.queryForList("SELECT tag_id FROM post_tag WHERE post_id = ?", Long.class, postId);
+    }
+
+    @Override
+    public void detach(Long postId, List<Long> tagIds) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+
+        namedParameterJdbcTemplate.update("DELETE FROM post_tag WHERE post_id = :postId AND tag_id IN (:tagIds)",
+                new MapSqlParameterSource("postId", postId).addValue("tagIds", tagIds));
+    }
+
+    @Override
+    public void forget(Long tagId) {
+        ids.values().removeIf(tagId::equals);
+    }
+
+    private static String keyOf(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,342 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.entity.Tag;
+import com.spring.blog.entity.common.RoleName;
+import com.spring.blog.entity.common.TagMergeStatus;
+import com.spring.blog.exception.BadRequestException;
+import com.spring.blog.exception.ResourceNotFoundException;
+import com.spring.blog.exception.UnauthorizedException;
+import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.request.TagMergeRequestDto;
+import com.spring.blog.payload.response.TagMergeResponse;
+import com.spring.blog.repository.TagRepository;
+import com.spring.blog.security.UserPrincipal;
+import com.spring.blog.service.NameLookupService;
+import com.spring.blog.service.TagCloudService;
+import com.spring.blog.service.TagDictionaryService;
+import com.spring.blog.service.TagMergeService;
+import com.spring.blog.service.TagSuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.spring.blog.utils.AppConstants.ID;
+import static com.spring.blog.utils.AppConstants.TAG;
+import static com.spring.blog.utils.AppConstants.TAG_MERGE;
+
+/**
+ * 여러 태그를 한 태그로 합친다 (관리자 전용).
+ * <p>
+ * post_tag 는 원본 태그마다 post_id 순으로 chunk-size 행씩 잘라 짧은 트랜잭션으로 옮긴다.
+ * 대상 태그가 이미 달린 게시글의 행은 지우고 나머지는 tag_id 만 바꾸므로, 한 번에 잠그는 행은 chunk 하나뿐이다.
+ * 그 사이 같은 (게시글, 대상 태그) 행이 따로 들어와 키가 겹치거나 잠금 대기에 실패하면 작업을 실패시키지 않고 그 chunk 만 다시 옮긴다.
+ * 작업은 한 번에 하나씩 백그라운드에서 돌고, 진행 상황은 id 로 조회한다 (이 노드의 메모리에만 남는다).
+ */
+@Service
+public class TagMergeServiceImpl implements TagMergeService, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TagMergeServiceImpl.class);
+
+    private static final int MAX_FINISHED_JOBS = 100;
+    private static final int MAX_CHUNK_ATTEMPTS = 5;
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TagDictionaryService tagDictionaryService;
+    private final TagCloudService tagCloudService;
+    private final TagSuggestionService tagSuggestionService;
+    private final NameLookupService nameLookupService;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, MergeJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tag-merge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TagMergeServiceImpl(
+            TagRepository tagRepository,
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TagDictionaryService tagDictionaryService,
+            TagCloudService tagCloudService,
+            TagSuggestionService tagSuggestionService,
+            NameLookupService nameLookupService,
+            @Value("${tag.merge.chunk-size:500}") int chunkSize,
+            @Value("${tag.merge.pause-millis:20}") long pauseMillis) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tagDictionaryService = tagDictionaryService;
+        this.tagCloudService = tagCloudService;
+        this.tagSuggestionService = tagSuggestionService;
+        this.nameLookupService = nameLookupService;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public TagMergeResponse startMerge(Long targetId, TagMergeRequestDto dto, UserPrincipal currentUser) {
+        if (!currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
+            ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "권한이 없습니다.");
+            throw new UnauthorizedException(apiResponse);
+        }
+
+        if (!tagRepository.existsById(targetId)) {
+            throw new ResourceNotFoundException(TAG, ID, targetId);
+        }
+
+        List<Long> sourceIds = dto.getSourceIds() == null ? List.of()
+                : dto.getSourceIds().stream().filter(Objects::nonNull).filter(id -> !id.equals(targetId)).distinct().toList();
+        if (sourceIds.isEmpty()) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE, "합칠 태그가 없습니다."));
+        }
+        for (Long sourceId : sourceIds) {
+            if (!tagRepository.existsById(sourceId)) {
+                throw new ResourceNotFoundException(TAG, ID, sourceId);
+            }
+        }
+
+        // 합쳐서 사라질 태그의 이름은 새 이름으로 쓸 수 있다
+        String name = dto.getName() == null || dto.getName().isBlank() ? null : dto.getName().trim();
+        if (name != null) {
+            Tag sameName = tagRepository.findByName(name);
+            if (sameName != null && !sameName.getId().equals(targetId) && !sourceIds.contains(sameName.getId())) {
+                throw new BadRequestException(new ApiResponse(Boolean.FALSE, "이미 있는 태그 이름입니다."));
+            }
+        }
+
+        Long totalRows = namedParameterJdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_tag WHERE tag_id IN (:sourceIds)",
+                new MapSqlParameterSource("sourceIds", sourceIds), Long.class);
+
+        MergeJob job = new MergeJob(sequence.incrementAndGet(), targetId, sourceIds, name, totalRows == null ? 0L : totalRows);
+        jobs.put(job.id, job);
+        evictFinishedJobs();
+
+        executor.execute(() -> run(job));
+
+        return job.toResponse();
+    }
+
+    @Override
+    public TagMergeResponse findMerge(Long mergeId) {
+        MergeJob job = jobs.get(mergeId);
+        if (job == null) {
+            throw new ResourceNotFoundException(TAG_MERGE, ID, mergeId);
+        }
+        return job.toResponse();
+    }
+
+    private void run(MergeJob job) {
+        try {
+            for (Long sourceId : job.sourceIds) {
+                moveRows(job, sourceId);
+            }
+
+            // 옮기는 동안 원본 태그에 새로 달린 행은 태그를 지우는 트랜잭션 안에서 마저 옮긴다
+            long[] rest = withRetry(job, () -> transactionTemplate.execute(status -> {
+                long[] total = new long[2];
+                for (Long sourceId : job.sourceIds) {
+                    for (long[] result = moveChunk(sourceId, job.targetId); result != null; result = moveChunk(sourceId, job.targetId)) {
+                        total[0] += result[0];
+                        total[1] += result[1];
+                    }
+                }
+                namedParameterJdbcTemplate.update("DELETE FROM tags WHERE id IN (:sourceIds)",
+                        new MapSqlParameterSource("sourceIds", job.sourceIds));
+                if (job.name != null) {
+                    jdbcTemplate.update("UPDATE tags SET name = ? WHERE id = ?", job.name, job.targetId);
+                }
+                return total;
+            }));
+            job.movedRows.addAndGet(rest[0]);
+            job.removedRows.addAndGet(rest[1]);
+
+            for (Long sourceId : job.sourceIds) {
+                tagDictionaryService.forget(sourceId);
+                tagCloudService.remove(sourceId);
+                nameLookupService.removeTag(sourceId);
+                tagSuggestionService.merge(sourceId, job.targetId);
+            }
+            if (job.name != null) {
+                tagDictionaryService.forget(job.targetId);
+                tagCloudService.register(job.targetId, job.name);
+                nameLookupService.putTag(job.targetId, job.name);
+            }
+
+            job.finish(TagMergeStatus.DONE, null);
+            LOGGER.info("tag merge {} done: {} -> {}, {} rows moved, {} duplicate rows removed",
+                    job.id, job.sourceIds, job.targetId, job.movedRows.get(), job.removedRows.get());
+        } catch (RuntimeException e) {
+            job.finish(TagMergeStatus.FAILED, e.getMessage());
+            LOGGER.error("tag merge {} failed", job.id, e);
+        } catch (InterruptedException e) {
+            job.finish(TagMergeStatus.FAILED, "interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 원본 태그의 행이 남지 않을 때까지 chunk 단위로 옮긴다. 옮기는 사이 새로 달린 행도 다음 chunk 에서 옮겨진다.
+     */
+    private void moveRows(MergeJob job, Long sourceId) throws InterruptedException {
+        while (true) {
+            long[] result = withRetry(job, () -> transactionTemplate.execute(status -> moveChunk(sourceId, job.targetId)));
+            if (result == null) {
+                return;
+            }
+
+            job.movedRows.addAndGet(result[0]);
+            job.removedRows.addAndGet(result[1]);
+
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+    }
+
+    /**
+     * 롤백된 chunk 를 다시 옮긴다. 다시 읽을 때는 먼저 커밋된 행이 겹친 행으로 잡힌다.
+     */
+    private long[] withRetry(MergeJob job, Supplier<long[]> chunk) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return chunk.get();
+            } catch (DuplicateKeyException | TransientDataAccessException e) {
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                LOGGER.warn("tag merge {} retrying chunk ({}/{}): {}", job.id, attempt, MAX_CHUNK_ATTEMPTS, e.getMessage());
+                Thread.sleep(Math.max(pauseMillis, 1L) * attempt);
+            }
+        }
+    }
+
+    private long[] moveChunk(Long sourceId, Long targetId) {
+        List<Long> postIds = jdbcTemplate.queryForList(
+                "SELECT post_id FROM post_tag WHERE tag_id = ? ORDER BY post_id LIMIT ? FOR UPDATE",
+                Long.class, sourceId, chunkSize);
+        if (postIds.isEmpty()) {
+            return null;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("sourceId", sourceId)
+                .addValue("targetId", targetId)
+                .addValue("postIds", postIds);
+
+        // 대상 태그가 이미 달린 게시글은 원본 행만 지운다. 잠가서 확인과 옮기기 사이에 같은 행이 끼어들지 못하게 한다
+        Set<Long> collided = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT post_id FROM post_tag WHERE tag_id = :targetId AND post_id IN (:postIds) FOR UPDATE", params, Long.class));
+        List<Long> moved = postIds.stream().filter(postId -> !collided.contains(postId)).distinct().toList();
+
+        long removedRows = 0;
+        if (!collided.isEmpty()) {
+            removedRows = namedParameterJdbcTemplate.update("DELETE FROM post_tag WHERE tag_id = :sourceId AND post_id IN (:collided)",
+                    new MapSqlParameterSource("sourceId", sourceId).addValue("collided", collided));
+        }
+
+        long movedRows = 0;
+        if (!moved.isEmpty()) {
+            MapSqlParameterSource movedParams = new MapSqlParameterSource("sourceId", sourceId)
+                    .addValue("targetId", targetId)
+                    .addValue("moved", moved);
+
+            movedRows = namedParameterJdbcTemplate.update("UPDATE post_tag SET tag_id = :targetId WHERE tag_id = :sourceId AND post_id IN (:moved)", movedParams);
+
+            Integer publicPosts = namedParameterJdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE id IN (:moved) AND is_enable = 0",
+                    movedParams, Integer.class);
+            tagCloudService.adjust(List.of(targetId), publicPosts == null ? 0 : publicPosts);
+        }
+
+        return new long[]{movedRows, removedRows};
+    }
+
+    private void evictFinishedJobs() {
+        if (jobs.size() <= MAX_FINISHED_JOBS) {
+            return;
+        }
+
+        jobs.values().stream()
+                .filter(job -> job.status != TagMergeStatus.RUNNING)
+                .map(job -> job.id)
+                .sorted()
+                .limit(jobs.size() - MAX_FINISHED_JOBS)
+                .toList()
+                .forEach(jobs::remove);
+    }
+
+    private static final class MergeJob {
+        private final Long id;
+        private final Long targetId;
+        private final List<Long> sourceIds;
+        private final String name;
+        private final long totalRows;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong movedRows = new AtomicLong();
+        private final AtomicLong removedRows = new AtomicLong();
+        private volatile TagMergeStatus status = TagMergeStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private MergeJob(Long id, Long targetId, List<Long> sourceIds, String name, long totalRows) {
+            this.id = id;
+            this.targetId = targetId;
+            this.sourceIds = sourceIds;
+            this.name = name;
+            this.totalRows = totalRows;
+        }
+
+        private void finish(TagMergeStatus status, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private TagMergeResponse toResponse() {
+            return TagMergeResponse.builder()
+                    .id(id)
+                    .targetId(targetId)
+                    .sourceIds(sourceIds)
+                    .name(name)
+                    .status(status)
+                    .totalRows(totalRows)
+                    .movedRows(movedRows.get())
+                    .removedRows(removedRows.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+}
@@ -1,21 +1,41 @@
 package com.spring.blog.service.impl;
 
+import com.spring.blog.entity.Post;
 import com.spring.blog.entity.Tag;
 import com.spring.blog.entity.common.RoleName;
 import com.spring.blog.exception.ResourceNotFoundException;
 import com.spring.blog.exception.UnauthorizedException;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
 import com.spring.blog.payload.PageResponse;
+import com.spring.blog.payload.request.TagMergeRequestDto;
 import com.spring.blog.payload.request.TagRequestDto;
+import com.spring.blog.payload.request.TagSuggestionRequestDto;
+import com.spring.blog.payload.response.NameLookupResponse;
+import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.TagMergeResponse;
 import com.spring.blog.payload.response.TagResponse;
+import com.spring.blog.repository.PostRepository;
 import com.spring.blog.repository.TagRepository;
 import com.spring.blog.security.UserPrincipal;
+import com.spring.blog.service.NameLookupService;
+import com.spring.blog.service.TagCloudService;
+import com.spring.blog.service.TagDictionaryService;
+import com.spring.blog.service.TagMergeService;
 import com.spring.blog.service.TagService;
+import com.spring.blog.service.TagSuggestionService;
+import com.spring.blog.service.UserSummaryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 import static com.spring.blog.utils.AppConstants.ID;
+import static com.spring.blog.utils.AppConstants.MAX_PAGE_SIZE;
 import static com.spring.blog.utils.AppConstants.TAG;
 
 @Service
@@ -23,10 +43,42 @@ import static com.spring.blog.utils.AppConstants.TAG;
 public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
+    private final PostRepository postRepository;
+    private final TagCloudService tagCloudService;
+    private final TagDictionaryService tagDictionaryService;
+    private final TagSuggestionService tagSuggestionService;
+    private final NameLookupService nameLookupService;
+    private final TagMergeService tagMergeService;
+    private final UserSummaryService userSummaryService;
+
+    @Override
+    public PageResponse<TagResponse> findAllTags(int pageNo, int pageSize, String sortBy, String sortDir) {
+        return tagCloudService.findPage(pageNo, pageSize, sortBy, sortDir);
+    }
 
     @Override
-    public PageResponse<Tag> findAllTags(int pageNo, int pageSize, String sortBy, String sortDir) {
-        return null;
+    public List<TagResponse> findTagCloud(int limit) {
+        return tagCloudService.findTop(Math.min(limit, MAX_PAGE_SIZE * 10));
+    }
+
+    @Override
+    public List<TagResponse> findTagSuggestions(TagSuggestionRequestDto dto, int limit) {
+        return tagSuggestionService.suggest(dto.getText(), dto.getTags(), limit);
+    }
+
+    @Override
+    public List<NameLookupResponse> lookupTags(String query, int maxDistance, int limit) {
+        return nameLookupService.lookupTags(query, maxDistance, limit);
+    }
+
+    @Override
+    public TagMergeResponse mergeTags(Long targetId, TagMergeRequestDto dto, UserPrincipal currentUser) {
+        return tagMergeService.startMerge(targetId, dto, currentUser);
+    }
+
+    @Override
+    public TagMergeResponse findTagMerge(Long mergeId) {
+        return tagMergeService.findMerge(mergeId);
     }
 
     @Override
@@ -37,6 +89,8 @@ public class TagServiceImpl implements TagService {
                 .build();
 
         Tag newTag = tagRepository.save(tag);
+        tagCloudService.register(newTag.getId(), newTag.getName());
+        nameLookupService.putTag(newTag.getId(), newTag.getName());
 
         return TagResponse.createTagResponse(newTag);
     }
@@ -46,13 +100,42 @@ public class TagServiceImpl implements TagService {
         return tagRepository.findById(tagId).orElseThrow(() -> new ResourceNotFoundException(TAG, ID, tagId));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorResponse<PostResponse> findPostsByTag(Long tagId, Long cursor, int pageSize) {
+        if (!tagRepository.existsById(tagId)) {
+            throw new ResourceNotFoundException(TAG, ID, tagId);
+        }
+
+        Pageable pageable = PageRequest.of(0, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        List<Post> posts = cursor == null
+                ? postRepository.findByTagId(tagId, pageable)
+                : postRepository.findByTagIdBefore(tagId, cursor, pageable);
+
+        CursorResponse<PostResponse> cursorResponse = new CursorResponse<>();
+
+        cursorResponse.setContent(userSummaryService.attachAuthors(posts.stream().map(PostResponse::convertToPostResponse).toList()));
+        cursorResponse.setPageSize(pageable.getPageSize());
+        cursorResponse.setLast(posts.size() < pageable.getPageSize());
+        cursorResponse.setNextCursor(posts.isEmpty() ? null : String.valueOf(posts.get(posts.size() - 1).getId()));
+
+        return cursorResponse;
+    }
+
     @Override
     public Tag updateTag(Long tagId, TagRequestDto dto, UserPrincipal currentUser) {
         Tag tag = tagRepository.findById(tagId).orElseThrow(() -> new ResourceNotFoundException("Tag", "id", tagId));
         if (tag.getDate().getCreatedAt().equals(currentUser.getId()) || currentUser.getAuthorities()
                 .contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
             tag.setName(dto.getName());
-            return tagRepository.save(tag);
+            Tag updateTag = tagRepository.save(tag);
+
+            tagDictionaryService.forget(tagId);
+            tagCloudService.register(tagId, updateTag.getName());
+            nameLookupService.putTag(tagId, updateTag.getName());
+
+            return updateTag;
         }
         ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "You don't have permission to edit this tag");
 
@@ -65,6 +148,11 @@ public class TagServiceImpl implements TagService {
         if (tag.getDate().getCreatedAt().equals(currentUser.getId()) || currentUser.getAuthorities()
                 .contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
             tagRepository.deleteById(tagId);
+
+            tagDictionaryService.forget(tagId);
+            tagCloudService.remove(tagId);
+            nameLookupService.removeTag(tagId);
+
             return new ApiResponse(Boolean.TRUE, "You successfully deleted tag");
         }
 
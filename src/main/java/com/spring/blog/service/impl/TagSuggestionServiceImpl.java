@@ -0,0 +1,338 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.payload.response.TagResponse;
+import com.spring.blog.service.TagCloudService;
+import com.spring.blog.service.TagDictionaryService;
+import com.spring.blog.service.TagSuggestionService;
+import com.spring.blog.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 글을 쓰는 동안 붙일 만한 태그를 추천한다.
+ * <p>
+ * 공개 게시글 기준으로 태그-태그 동시 등장 수와 제목 단어-태그 등장 수를 희소 행렬로 메모리에 들고 있다.
+ * 게시글이 쓰이거나 바뀌면 커밋 뒤에 증감하고, 주기적으로 행마다 상위 max-row-size 개만 남겨 추천 비용을 묶어둔다.
+ * 잘려 나간 칸은 이후 감소를 무시하고 증가는 1 부터 다시 센다 (추천 용도라 근사치로 충분하다).
+ */
+@Service
+public class TagSuggestionServiceImpl implements TagSuggestionService, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TagSuggestionServiceImpl.class);
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MAX_TERMS = 64;
+    private static final int MAX_LIMIT = 30;
+
+    // 본문에 태그 이름이 그대로 나오면 가장 크게, 이미 고른 태그와의 동시 등장을 그 다음으로 본다
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double TAG_WEIGHT = 2.0;
+    private static final double TERM_WEIGHT = 1.0;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TagDictionaryService tagDictionaryService;
+    private final TagCloudService tagCloudService;
+    private final int maxRowSize;
+    private final long compactionIntervalMillis;
+
+    private final Map<Long, Row> tagRows = new ConcurrentHashMap<>();
+    private final Map<String, Row> termRows = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    public TagSuggestionServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            TagDictionaryService tagDictionaryService,
+            TagCloudService tagCloudService,
+            @Value("${tag.suggestion.max-row-size:200}") int maxRowSize,
+            @Value("${tag.suggestion.compaction-interval-minutes:30}") long compactionIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tagDictionaryService = tagDictionaryService;
+        this.tagCloudService = tagCloudService;
+        this.maxRowSize = maxRowSize;
+        this.compactionIntervalMillis = TimeUnit.MINUTES.toMillis(compactionIntervalMinutes);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        load();
+        compact();
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tag-suggestion-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::compactSafely, compactionIntervalMillis, compactionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 게시글 하나의 제목과 태그 목록을 행렬에 더하거나 (delta 1) 뺀다 (delta -1). 트랜잭션이 있으면 커밋 뒤에 반영한다.
+     */
+    @Override
+    public void record(String title, Collection<Long> tagIds, int delta) {
+        if (tagIds == null || tagIds.isEmpty() || delta == 0) {
+            return;
+        }
+
+        List<Long> tags = List.copyOf(new LinkedHashSet<>(tagIds));
+
+        TransactionUtil.afterCommit(() -> apply(title, tags, delta));
+    }
+
+    /**
+     * 본문 단어와 이미 고른 태그로 점수를 매겨 상위 limit 개를 돌려준다. 이미 고른 태그는 빼고, DB 는 읽지 않는다.
+     */
+    @Override
+    public List<TagResponse> suggest(String text, List<String> tags, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        limit = Math.min(limit, MAX_LIMIT);
+
+        List<String> terms = new ArrayList<>(tokenize(text));
+        Set<Long> chosen = new HashSet<>(tagDictionaryService.lookup(tagDictionaryService.normalize(tags)));
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            accumulate(termRows.get(term), TERM_WEIGHT, scores);
+        }
+        for (Long tagId : chosen) {
+            accumulate(tagRows.get(tagId), TAG_WEIGHT, scores);
+        }
+        for (Long tagId : tagDictionaryService.lookup(terms)) {
+            scores.merge(tagId, NAME_WEIGHT, Double::sum);
+        }
+        scores.keySet().removeAll(chosen);
+
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit, byScore);
+
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (byScore.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        List<Map.Entry<Long, Double>> top = new ArrayList<>(heap);
+        top.sort(byScore.reversed());
+
+        return tagCloudService.findByIds(top.stream().map(Map.Entry::getKey).toList());
+    }
+
+    /**
+     * source 태그의 행과 열을 target 으로 옮긴다. 두 태그가 같이 달렸던 게시글 몫은 조금 더 세어질 수 있다.
+     */
+    @Override
+    public void merge(Long sourceId, Long targetId) {
+        Row source = tagRows.remove(sourceId);
+        if (source != null) {
+            for (Map.Entry<Long, Integer> entry : source.counts.entrySet()) {
+                if (!entry.getKey().equals(targetId)) {
+                    add(tagRows, targetId, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        for (Long key : tagRows.keySet()) {
+            moveColumn(tagRows, key, sourceId, targetId);
+        }
+        for (String key : termRows.keySet()) {
+            moveColumn(termRows, key, sourceId, targetId);
+        }
+    }
+
+    /**
+     * 행마다 상위 max-row-size 개만 남긴다. 쓰기와 같은 행 잠금 안에서 새 행으로 바꿔 끼우므로 읽는 쪽은 그대로 둔다.
+     */
+    @Override
+    public void compact() {
+        long started = System.nanoTime();
+
+        int trimmed = compact(tagRows) + compact(termRows);
+
+        LOGGER.debug("tag suggestion compaction: {} rows trimmed, {} tag rows, {} term rows, {} ms",
+                trimmed, tagRows.size(), termRows.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void compactSafely() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            LOGGER.warn("tag suggestion compaction failed", e);
+        }
+    }
+
+    private <K> int compact(Map<K, Row> rows) {
+        int[] trimmed = new int[1];
+        for (K key : rows.keySet()) {
+            rows.computeIfPresent(key, (k, row) -> {
+                if (row.counts.isEmpty()) {
+                    return null;
+                }
+                if (row.counts.size() <= maxRowSize) {
+                    return row;
+                }
+                trimmed[0]++;
+                return row.top(maxRowSize);
+            });
+        }
+        return trimmed[0];
+    }
+
+    private void load() {
+        List<Long> tags = new ArrayList<>();
+        long[] postId = {-1L};
+        String[] title = new String[1];
+
+        // post_id 순으로 읽으면서 게시글 단위로 묶는다
+        jdbcTemplate.query("SELECT pt.post_id, pt.tag_id, p.title FROM post_tag pt JOIN posts p ON p.id = pt.post_id "
+                        + "WHERE p.is_enable = 0 ORDER BY pt.post_id",
+                rs -> {
+                    long id = rs.getLong("post_id");
+                    if (id != postId[0]) {
+                        apply(title[0], tags, 1);
+                        tags.clear();
+                        postId[0] = id;
+                        title[0] = rs.getString("title");
+                    }
+                    tags.add(rs.getLong("tag_id"));
+                });
+        apply(title[0], tags, 1);
+    }
+
+    private void apply(String title, List<Long> tags, int delta) {
+        if (tags.isEmpty()) {
+            return;
+        }
+
+        for (Long tagId : tags) {
+            for (Long other : tags) {
+                if (!tagId.equals(other)) {
+                    add(tagRows, tagId, other, delta);
+                }
+            }
+        }
+
+        for (String term : tokenize(title)) {
+            for (Long tagId : tags) {
+                add(termRows, term, tagId, delta);
+            }
+        }
+    }
+
+    private static <K> void add(Map<K, Row> rows, K key, Long tagId, int delta) {
+        rows.compute(key, (k, row) -> {
+            if (row == null) {
+                if (delta < 0) {
+                    return null;
+                }
+                row = new Row();
+            }
+            row.add(tagId, delta);
+            return row.counts.isEmpty() ? null : row;
+        });
+    }
+
+    private static <K> void moveColumn(Map<K, Row> rows, K key, Long from, Long to) {
+        rows.computeIfPresent(key, (k, row) -> {
+            Integer count = row.counts.get(from);
+            if (count == null) {
+                return row;
+            }
+            row.add(from, -count);
+            if (!to.equals(k)) {
+                row.add(to, count);
+            }
+            return row.counts.isEmpty() ? null : row;
+        });
+    }
+
+    private static void accumulate(Row row, double weight, Map<Long, Double> scores) {
+        if (row == null) {
+            return;
+        }
+
+        long total = row.total;
+        if (total <= 0) {
+            return;
+        }
+
+        for (Map.Entry<Long, Integer> entry : row.counts.entrySet()) {
+            scores.merge(entry.getKey(), weight * entry.getValue() / total, Double::sum);
+        }
+    }
+
+    private static Set<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (term.length() >= MIN_TERM_LENGTH && term.length() <= MAX_TERM_LENGTH) {
+                terms.add(term);
+                if (terms.size() == MAX_TERMS) {
+                    break;
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 한 행. 바꾸는 쪽은 바깥 map 의 compute 안에서만 바꾸고, 읽는 쪽은 잠금 없이 읽는다.
+     */
+    private static final class Row {
+        private final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+        private volatile long total;
+
+        private void add(Long tagId, int delta) {
+            Integer before = counts.get(tagId);
+            if (before == null && delta < 0) {
+                return;
+            }
+
+            int previous = before == null ? 0 : before;
+            int next = Math.max(previous + delta, 0);
+            if (next == 0) {
+                counts.remove(tagId);
+            } else {
+                counts.put(tagId, next);
+            }
+            total = total + next - previous;
+        }
+
+        private Row top(int size) {
+            Row row = new Row();
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                    .limit(size)
+                    .forEach(entry -> row.add(entry.getKey(), entry.getValue()));
+            return row;
+        }
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.spring.blog.service.impl;
 
-import com.spring.blog.entity.Certification;
 import com.spring.blog.entity.Post;
 import com.spring.blog.entity.Role;
 import com.spring.blog.entity.User;
@@ -11,30 +10,45 @@ import com.spring.blog.exception.BadRequestException;
 import com.spring.blog.exception.ResourceNotFoundException;
 import com.spring.blog.exception.UnauthorizedException;
 import com.spring.blog.payload.ApiResponse;
+import com.spring.blog.payload.CursorResponse;
+import com.spring.blog.payload.MultiGetResponse;
 import com.spring.blog.payload.PageResponse;
 import com.spring.blog.payload.request.*;
 import com.spring.blog.payload.response.PostResponse;
+import com.spring.blog.payload.response.PostSummaryResponse;
 import com.spring.blog.payload.response.UserResponse;
-import com.spring.blog.repository.CertificationRepository;
+import com.spring.blog.payload.response.UserStatsResponse;
+import com.spring.blog.repository.PostRepository;
+import com.spring.blog.repository.PostSummary;
 import com.spring.blog.repository.RoleRepository;
 import com.spring.blog.repository.UserRepository;
+import com.spring.blog.security.TokenEpochRegistry;
 import com.spring.blog.security.UserPrincipal;
+import com.spring.blog.security.VerificationPurpose;
 import com.spring.blog.service.CertificationService;
+import com.spring.blog.service.PasswordHashingService;
 import com.spring.blog.service.UserService;
+import com.spring.blog.service.UserSummaryService;
+import com.spring.blog.service.UserStatsService;
+import com.spring.blog.utils.KeysetCursor;
 import com.spring.blog.utils.RandomNumberUtil;
+import com.spring.blog.utils.SortRegistry;
+import com.spring.blog.utils.UserSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static com.spring.blog.utils.AppConstants.*;
@@ -45,8 +59,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final CertificationRepository certificationRepository;
     private final CertificationService certificationService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final PasswordHashingService passwordHashingService;
+    private final UserSearchIndex userSearchIndex;
+    private final PostRepository postRepository;
+    private final UserSummaryService userSummaryService;
+    private final UserStatsService userStatsService;
 
 
     @Override
@@ -65,7 +84,7 @@ public class UserServiceImpl implements UserService {
         User user = User.builder()
                 .email(dto.getEmail())
                 .name(dto.getName())
-                .password(BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt()))
+                .password(passwordHashingService.hash(dto.getPassword()))
                 .date(LocalDate.builder()
                         .createdAt(LocalDateTime.now())
                         .build())
@@ -74,31 +93,23 @@ public class UserServiceImpl implements UserService {
                 .build();
 
         User joinUser = userRepository.save(user);
+        userSearchIndex.put(joinUser);
 
         certificationService.createEmailToken(joinUser.getId(), joinUser.getEmail());
 
         return joinUser;
     }
 
-    @Override
-    public boolean longinUser(LoginRequestDto dto) {
-        Optional<User> findByEmail = userRepository.findByEmail(dto.getEmail());
-
-        if (findByEmail.isPresent()) {
-            User user = findByEmail.get();
-            return user.getPassword().equals(dto.getPassword()); // 로그인 성공
-        }
-        return false; // 로그인 실패
-    }
-
     @Override
     public PageResponse<UserResponse> findAllUsers(int pageNo, int pageSize, String sortBy, String sortDir, String email, String name) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        Sort sort = SortRegistry.USERS.resolve(sortBy, sortDir);
 
         Pageable pageable = PageRequest.of(pageNo, pageSize, sort);
 
-        Page<User> users = userRepository.findAllSearch(email, name, pageable);
+        // 검색어가 비어 있으면 전체 조회, 아니면 인덱스가 자른 한 페이지의 id 만 조회한다
+        UserSearchIndex.SearchResult result = userSearchIndex.search(email, name, pageable);
+        Page<User> users = result == null ? userRepository.findAll(pageable)
+                : new PageImpl<>(findAllInOrder(result.getIds()), pageable, result.getTotal());
 
         List<User> listOfUsers = users.getContent();
 
@@ -116,11 +127,31 @@ public class UserServiceImpl implements UserService {
         return pageResource;
     }
 
+    private List<User> findAllInOrder(List<Long> userIds) {
+        Map<Long, User> found = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            found.put(user.getId(), user);
+        }
+        return userIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
     @Override
     public User findByUser(Long userId) {
         return userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException(USER, ID, userId));
     }
 
+    @Override
+    public MultiGetResponse<UserResponse> findUsers(List<Long> userIds) {
+        List<Long> ids = MultiGetResponse.requestedIds(userIds);
+
+        Map<Long, UserResponse> found = new HashMap<>();
+        for (User user : userRepository.findAllById(ids)) {
+            found.put(user.getId(), UserResponse.convertToUserResponse(user));
+        }
+
+        return MultiGetResponse.of(ids, found);
+    }
+
     @Override
     public User updateUser(Long userId, UserRequestDto dto, UserPrincipal currentUser) {
 
@@ -129,11 +160,18 @@ public class UserServiceImpl implements UserService {
         if (findByUser.getId().equals(currentUser.getId())
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
 
-            findByUser.setPassword(dto.getPassword());
+            findByUser.setPassword(passwordHashingService.hash(dto.getPassword()));
             findByUser.setDate(LocalDate.builder()
+                    .createdAt(findByUser.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
-            return userRepository.save(findByUser);
+            User updateUser = userRepository.save(findByUser);
+            userSearchIndex.put(updateUser);
+            userSummaryService.evict(updateUser.getId());
+
+            tokenEpochRegistry.revoke(updateUser.getId());
+
+            return updateUser;
         }
 
         ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "권한이 없습니다.");
@@ -149,6 +187,7 @@ public class UserServiceImpl implements UserService {
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
             findByUser.setStatus(1);
             findByUser.setDate(LocalDate.builder()
+                    .createdAt(findByUser.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
             return userRepository.save(findByUser);
@@ -167,9 +206,15 @@ public class UserServiceImpl implements UserService {
                 || currentUser.getAuthorities().contains(new SimpleGrantedAuthority(RoleName.ROLE_ADMIN.toString()))) {
             findByUser.setStatus(0);
             findByUser.setDate(LocalDate.builder()
+                    .createdAt(findByUser.getDate().getCreatedAt())
                     .updateAt(LocalDateTime.now())
                     .build());
-            return userRepository.save(findByUser);
+            User unableUser = userRepository.save(findByUser);
+
+            //발급된 토큰 무효화
+            tokenEpochRegistry.revoke(unableUser.getId());
+
+            return unableUser;
         }
 
         ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "권한이 없습니다.");
@@ -186,6 +231,7 @@ public class UserServiceImpl implements UserService {
         findByEmail.setStatus(2);
 
         userRepository.save(findByEmail);
+        tokenEpochRegistry.revoke(findByEmail.getId());
 
         certificationService.createPasswordToken(findByEmail.getId(), findByEmail.getEmail());
     }
@@ -193,20 +239,48 @@ public class UserServiceImpl implements UserService {
     @Override
     public User findUserByPassword(String token, FindByUpdatePasswordRequestDto dto) {
 
-        Optional<Certification> findByToken = Optional.ofNullable(certificationRepository.findById(token).orElseThrow(() -> new RuntimeException("Not Find Token")));
+        Long userId = certificationService.consumeToken(token, VerificationPurpose.PASSWORD);
+
+        User findByUser = userRepository.findById(userId).orElseThrow(() -> new ResourceNotFoundException(USER, ID, userId));
 
-        User findByUser = userRepository.findById(findByToken.get().getUserId()).orElseThrow(()-> new RuntimeException("Not Found User"));
+        findByUser.setPassword(passwordHashingService.hash(dto.getPassword()));
+        findByUser.setStatus(0);
+        findByUser.setDate(LocalDate.builder()
+                .createdAt(findByUser.getDate().getCreatedAt())
+                .updateAt(LocalDateTime.now())
+                .build());
+        User updateUser = userRepository.save(findByUser);
 
-        if (findByUser != null) {
-            User updateUser = User.builder()
-                    .password(dto.getPassword())
-                    .status(0)
-                    .build();
-            return userRepository.save(updateUser);
+        tokenEpochRegistry.revoke(updateUser.getId());
+
+        return updateUser;
+    }
+
+    @Override
+    public UserStatsResponse findUserStats(Long userId) {
+        UserStatsResponse stats = userStatsService.find(userId);
+        if (stats == null) {
+            throw new ResourceNotFoundException(USER, ID, userId);
         }
+        return stats;
+    }
 
-        ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "권한이 없습니다.");
+    @Override
+    public CursorResponse<PostSummaryResponse> findPostsByUser(Long userId, String cursor, int pageSize) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(USER, ID, userId);
+        }
 
-        throw new UnauthorizedException(apiResponse);
+        Pageable pageable = PageRequest.of(0, Math.min(pageSize, MAX_PAGE_SIZE));
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<PostSummary> posts = after == null
+                ? postRepository.findSummariesByUserId(userId, pageable)
+                : postRepository.findSummariesByUserIdBefore(userId, after.getCreatedAt(), after.getId(), pageable);
+
+        CursorResponse<PostSummaryResponse> cursorResponse = PostSummaryResponse.createKeysetCursorResponse(posts, pageable.getPageSize());
+        userSummaryService.attachAuthors(cursorResponse.getContent());
+
+        return cursorResponse;
     }
 }
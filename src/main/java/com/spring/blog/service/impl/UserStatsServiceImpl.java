@@ -0,0 +1,312 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.entity.common.UserStatType;
+import com.spring.blog.payload.response.UserStatsResponse;
+import com.spring.blog.service.UserStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 사용자별 활동 통계 (user_stats).
+ * <p>
+ * 게시글/댓글/좋아요가 커밋되면 사용자별 증감만 메모리에 모으고, "user-stats" 스레드가 flush-interval 마다 모인 만큼 한 번에 쓴다.
+ * 같은 스레드가 reconcile-interval 마다 사용자를 batch 단위로 돌며 원본 테이블에서 다시 세어 덮어쓴다.
+ * 게시글이 지워지며 같이 지워지는 댓글/좋아요처럼 증감으로 잡지 못한 어긋남은 그때 맞춰진다.
+ * 다시 센 값에 이미 들어간 증감은 버리고 그 뒤에 커밋된 증감만 남겨야 하므로, 커밋하는 트랜잭션은 commit 부터 증감을
+ * 모을 때까지 commitLock 읽기 잠금을 잡고, reconcile 은 쓰기 잠금 안에서 batch 사용자의 증감을 버리고 세기 시작할 시점을 정한다.
+ * 프로필 조회는 LRU cache 에서 읽고, 없으면 user_stats 를 한 번 읽는다. 쓰고 나면 그 사용자의 cache 를 비운다.
+ * 메모리에만 모으므로 비정상 종료 시 flush 전의 증감은 다음 reconcile 까지 빠져 있을 수 있다.
+ */
+@Service
+public class UserStatsServiceImpl implements UserStatsService, InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserStatsServiceImpl.class);
+
+    private static final String SELECT_STATS = "SELECT u.id, s.post_count, s.comment_count, s.likes_received "
+            + "FROM users u LEFT JOIN user_stats s ON s.user_id = u.id WHERE u.id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final long flushIntervalMillis;
+    private final long reconcileIntervalMillis;
+    private final int reconcileBatchSize;
+
+    private final Map<Long, long[]> pending = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final TransactionTemplate reconcileTransaction;
+    private final Map<Long, UserStatsResponse> cache;
+    private ScheduledExecutorService executor;
+
+    public UserStatsServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${user.stats.flush-interval-millis:1000}") long flushIntervalMillis,
+            @Value("${user.stats.reconcile-interval-minutes:60}") long reconcileIntervalMinutes,
+            @Value("${user.stats.reconcile-batch-size:500}") int reconcileBatchSize,
+            @Value("${user.stats.cache-size:10000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.reconcileIntervalMillis = TimeUnit.MINUTES.toMillis(reconcileIntervalMinutes);
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserStatsResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // 통계가 비어 있으면 (처음 배포) 시작하자마자 한 번 센다
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_stats", Integer.class);
+        long firstReconcile = rows == null || rows == 0 ? 0L : reconcileIntervalMillis;
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::reconcileSafely, firstReconcile, reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        flush();
+    }
+
+    /**
+     * 트랜잭션이 있으면 커밋 뒤에 모은다. commit 직전부터 모을 때까지 commitLock 읽기 잠금을 잡는다.
+     */
+    @Override
+    public void record(Long userId, UserStatType type, int delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+
+        Runnable task = () -> merge(userId, type, delta);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        task.run();
+                    }
+                } finally {
+                    if (locked) {
+                        commitLock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 없는 사용자면 null.
+     */
+    @Override
+    public UserStatsResponse find(Long userId) {
+        UserStatsResponse cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<UserStatsResponse> rows = jdbcTemplate.query(SELECT_STATS, (rs, rowNum) -> UserStatsResponse.builder()
+                .userId(rs.getLong("id"))
+                .postCount(rs.getLong("post_count"))
+                .commentCount(rs.getLong("comment_count"))
+                .likesReceived(rs.getLong("likes_received"))
+                .build(), userId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        cache.put(userId, rows.get(0));
+        return rows.get(0);
+    }
+
+    @Override
+    public void flush() {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            long[] deltas = pending.remove(userId);
+            if (deltas == null || Arrays.stream(deltas).allMatch(delta -> delta == 0)) {
+                continue;
+            }
+            inserts.add(new Object[]{userId});
+            updates.add(new Object[]{
+                    deltas[UserStatType.POSTS.ordinal()],
+                    deltas[UserStatType.COMMENTS.ordinal()],
+                    deltas[UserStatType.LIKES_RECEIVED.ordinal()],
+                    userId});
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO user_stats (user_id, post_count, comment_count, likes_received, updated_at) "
+                    + "VALUES (?, 0, 0, 0, NOW())", inserts);
+            jdbcTemplate.batchUpdate("UPDATE user_stats SET post_count = GREATEST(post_count + ?, 0), "
+                    + "comment_count = GREATEST(comment_count + ?, 0), likes_received = GREATEST(likes_received + ?, 0), "
+                    + "updated_at = NOW() WHERE user_id = ?", updates);
+        } catch (RuntimeException e) {
+            // 쓰지 못한 증감은 다음 flush 때 다시 쓴다
+            for (Object[] row : updates) {
+                for (UserStatType type : UserStatType.values()) {
+                    merge((Long) row[3], type, (Long) row[type.ordinal()]);
+                }
+            }
+            throw e;
+        }
+
+        inserts.forEach(row -> cache.remove((Long) row[0]));
+    }
+
+    /**
+     * 사용자 id 순으로 reconcile-batch-size 명씩 원본 테이블에서 다시 세어 덮어쓴다.
+     */
+    @Override
+    public void reconcile() {
+        long started = System.nanoTime();
+        long lastId = 0L;
+        int users = 0;
+
+        while (true) {
+            List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                    Long.class, lastId, reconcileBatchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+
+            reconcile(userIds);
+
+            users += userIds.size();
+            lastId = userIds.get(userIds.size() - 1);
+        }
+
+        LOGGER.debug("user stats reconciled: {} users, {} ms", users, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * REPEATABLE READ 에서는 첫 읽기가 트랜잭션의 스냅샷 시점을 정하고 이후 조회도 그 시점을 본다.
+     * 그 첫 읽기를 쓰기 잠금 안에서 해서, 스냅샷에 들어간 커밋은 모두 pending 에 모인 뒤이고 그 뒤 커밋은 아직 모이지 않은 상태로 만든다.
+     * 그래서 잠금 안에서 이 batch 사용자의 pending 을 버리면, 다시 센 값에 있는 증감은 한 번만, 그 뒤 증감은 다음 flush 에서 더해진다.
+     * flush 와 reconcile 은 같은 "user-stats" 스레드에서 돌므로 세는 동안 이 사용자들의 user_stats 를 더하는 쪽은 없다.
+     */
+    private void reconcile(List<Long> userIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", userIds);
+
+        reconcileTransaction.executeWithoutResult(status -> {
+            Map<Long, Long> posts;
+            commitLock.writeLock().lock();
+            try {
+                userIds.forEach(pending::remove);
+                posts = counts("SELECT user_id, COUNT(*) AS cnt FROM posts "
+                        + "WHERE user_id IN (:ids) AND is_enable = 0 GROUP BY user_id", params);
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+
+            overwrite(userIds, posts, params);
+        });
+
+        userIds.forEach(cache::remove);
+    }
+
+    private void overwrite(List<Long> userIds, Map<Long, Long> posts, MapSqlParameterSource params) {
+        Map<Long, Long> comments = counts("SELECT user_id, COUNT(*) AS cnt FROM comments "
+                + "WHERE user_id IN (:ids) AND is_enable = 1 GROUP BY user_id", params);
+        Map<Long, Long> likes = counts("SELECT p.user_id, COUNT(*) AS cnt FROM likes l JOIN posts p ON p.id = l.post_id "
+                + "WHERE p.user_id IN (:ids) GROUP BY p.user_id", params);
+
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(new Object[]{userId, posts.getOrDefault(userId, 0L), comments.getOrDefault(userId, 0L), likes.getOrDefault(userId, 0L)});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO user_stats (user_id, post_count, comment_count, likes_received, updated_at) "
+                + "VALUES (?, ?, ?, ?, NOW()) ON DUPLICATE KEY UPDATE post_count = VALUES(post_count), "
+                + "comment_count = VALUES(comment_count), likes_received = VALUES(likes_received), updated_at = NOW()", rows);
+    }
+
+    private void merge(Long userId, UserStatType type, long delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        pending.compute(userId, (key, deltas) -> {
+            if (deltas == null) {
+                deltas = new long[UserStatType.values().length];
+            }
+            deltas[type.ordinal()] += delta;
+            return deltas;
+        });
+    }
+
+    private Map<Long, Long> counts(String sql, MapSqlParameterSource params) {
+        Map<Long, Long> counts = new HashMap<>();
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            counts.put(rs.getLong("user_id"), rs.getLong("cnt"));
+        });
+        return counts;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOGGER.warn("user stats flush failed", e);
+        }
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOGGER.warn("user stats reconciliation failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.spring.blog.service.impl;
+
+import com.spring.blog.payload.response.AuthorResponse;
+import com.spring.blog.payload.response.AuthoredResponse;
+import com.spring.blog.service.UserSummaryService;
+import com.spring.blog.utils.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * 목록 응답에 붙이는 작성자 요약 (id, 이름).
+ * <p>
+ * 최근에 쓴 작성자를 max-size 개까지 LRU 로 들고, 한 페이지에서 비어 있는 작성자만 IN 조회 한 번으로 채운다.
+ * 사용자 정보가 바뀌면 커밋 뒤에 그 사용자를 비운다.
+ */
+@Service
+public class UserSummaryServiceImpl implements UserSummaryService {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final Map<Long, AuthorResponse> cache;
+
+    public UserSummaryServiceImpl(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            @Value("${user.summary.max-size:10000}") int maxSize) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, AuthorResponse> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * 없는 사용자는 결과에서 빠진다.
+     */
+    @Override
+    public Map<Long, AuthorResponse> findAuthors(Collection<Long> userIds) {
+        Map<Long, AuthorResponse> authors = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+
+        for (Long userId : userIds) {
+            if (userId == null || authors.containsKey(userId)) {
+                continue;
+            }
+            AuthorResponse author = cache.get(userId);
+            if (author == null) {
+                missing.add(userId);
+            } else {
+                authors.put(userId, author);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            namedParameterJdbcTemplate.query("SELECT id, name FROM users WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", missing),
+                    rs -> {
+                        AuthorResponse author = AuthorResponse.builder()
+                                .id(rs.getLong("id"))
+                                .name(rs.getString("name"))
+                                .build();
+                        cache.put(author.getId(), author);
+                        authors.put(author.getId(), author);
+                    });
+        }
+        return authors;
+    }
+
+    @Override
+    public <T extends AuthoredResponse> List<T> attachAuthors(List<T> responses) {
+        if (responses.isEmpty()) {
+            return responses;
+        }
+
+        Map<Long, AuthorResponse> authors = findAuthors(responses.stream().map(AuthoredResponse::getUserId).toList());
+        responses.forEach(response -> response.setAuthor(authors.get(response.getUserId())));
+        return responses;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        cache.remove(userId);
+
+        // 커밋 전에 다른 요청이 옛 이름을 다시 채웠을 수 있으므로 커밋 뒤에 한 번 더 비운다
+        TransactionUtil.afterCommit(() -> cache.remove(userId));
+    }
+
+}
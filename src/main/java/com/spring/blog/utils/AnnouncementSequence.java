@@ -0,0 +1,47 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.exception.AppException;
+import com.spring.blog.repository.NotificationRepository;
+import com.spring.blog.repository.SequenceCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 공지사항 순번. 공지를 하나 만들 때마다 1 씩 올라가므로 "마지막으로 본 순번" 과의 차이가 곧 안 읽은 공지 수다.
+ * 최신 순번은 sequence_counters 의 한 행이 들고 있고, 공지 insert 와 같은 트랜잭션에서 그 행을 잠그고 올린다.
+ * 트랜잭션이 롤백되면 순번도 같이 돌아가므로 빈 번호가 생기지 않고, 노드가 여러 개여도 같은 행을 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnnouncementSequence implements InitializingBean {
+
+    private static final String NAME = "announcement";
+
+    private final NotificationRepository notificationRepository;
+    private final SequenceCounterRepository sequenceCounterRepository;
+
+    @Override
+    public void afterPropertiesSet() {
+        // 카운터 행이 생기기 전에 만든 공지 순번부터 이어간다
+        Long max = notificationRepository.findMaxSequence();
+        sequenceCounterRepository.insertIfAbsent(NAME, max == null ? 0L : max);
+    }
+
+    /**
+     * 공지를 저장하는 트랜잭션 안에서만 부른다. 커밋될 때까지 다른 공지 생성은 이 행에서 기다린다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next() {
+        return sequenceCounterRepository.findForUpdate(NAME)
+                .orElseThrow(() -> new AppException("공지사항 순번이 초기화되지 않았습니다."))
+                .increase();
+    }
+
+    public long latest() {
+        return sequenceCounterRepository.findCurrentValue(NAME).orElse(0L);
+    }
+
+}
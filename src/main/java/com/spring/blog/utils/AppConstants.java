@@ -8,6 +8,12 @@ public class AppConstants {
 
     public static final int MAX_PAGE_SIZE = 30;
 
+    public static final int MAX_MULTI_GET_SIZE = 100;
+
+    public static final String DEFAULT_SUGGESTION_SIZE = "10";
+
+    public static final String DEFAULT_LOOKUP_DISTANCE = "2";
+
     public static final String DEFAULT_SORT_BY = "id";
     public static final String DEFAULT_SORT_DIREACTION = "asc";
 
@@ -27,10 +33,14 @@ public class AppConstants {
 
     public static final String TAG = "Tag";
 
+    public static final String TAG_MERGE = "TagMerge";
+
     public static final String POST = "Post";
 
     public static final String NOTIFICATION = "Notification";
 
+    public static final String INBOX = "Inbox";
+
     public static final String COMMENT = "comment";
 
     public static final String LIKE = "like";
@@ -0,0 +1,149 @@
+package com.spring.blog.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Levenshtein 거리로 묶은 BK-tree.
+ * <p>
+ * 자식은 부모와의 거리로 나뉘므로, 질의어와 노드의 거리가 d 이면 [d - maxDistance, d + maxDistance] 가지만 내려가면 된다.
+ * 한 key 에 값을 여러 개 달 수 있다. 값을 지워도 노드는 남으므로 빈 노드가 많아지면 새로 만들어 쓴다.
+ * thread-safe 하지 않다. 읽기끼리는 동시에 해도 되지만 쓰기와는 바깥에서 막아야 한다.
+ */
+public class BkTree<T> {
+
+    private Node<T> root;
+    private int nodeCount;
+    private int size;
+
+    public void add(String key, T value) {
+        if (root == null) {
+            root = new Node<>(key);
+            nodeCount++;
+        }
+
+        Node<T> node = root;
+        while (true) {
+            int distance = distance(key, node.key);
+            if (distance == 0) {
+                node.values.add(value);
+                size++;
+                return;
+            }
+
+            Node<T> child = node.children.get(distance);
+            if (child == null) {
+                child = new Node<>(key);
+                child.values.add(value);
+                node.children.put(distance, child);
+                nodeCount++;
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    public boolean remove(String key, T value) {
+        Node<T> node = root;
+        while (node != null) {
+            int distance = distance(key, node.key);
+            if (distance == 0) {
+                if (node.values.remove(value)) {
+                    size--;
+                    return true;
+                }
+                return false;
+            }
+            node = node.children.get(distance);
+        }
+        return false;
+    }
+
+    /**
+     * query 와의 거리가 maxDistance 이하인 값마다 (값, 거리) 로 consumer 를 부른다. 순서는 정해져 있지 않다.
+     */
+    public void search(String query, int maxDistance, BiConsumer<T, Integer> consumer) {
+        if (root == null) {
+            return;
+        }
+
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Node<T> node = stack.pop();
+            int distance = distance(query, node.key);
+
+            if (distance <= maxDistance) {
+                for (T value : node.values) {
+                    consumer.accept(value, distance);
+                }
+            }
+
+            for (Map.Entry<Integer, Node<T>> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    stack.push(child.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * 달려 있는 값의 수.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 값이 없는 노드까지 포함한 노드 수.
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Node<T> {
+        private final String key;
+        private final List<T> values = new ArrayList<>(1);
+        private final Map<Integer, Node<T>> children = new HashMap<>();
+
+        private Node(String key) {
+            this.key = key;
+        }
+    }
+
+}
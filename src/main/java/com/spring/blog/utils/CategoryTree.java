@@ -0,0 +1,279 @@
+package com.spring.blog.utils;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 카테고리 트리 한 벌. 모양 (부모, 이름, nested set 번호) 은 바뀌지 않고, 모양이 바뀌면 새로 만들어 통째로 바꿔 끼운다.
+ * <p>
+ * 번호는 부모 관계에서 다시 매긴다. 형제는 id 순으로, 자기 lft/rgt 사이에 모든 하위 카테고리가 들어간다.
+ * 부모가 없거나 순환에 걸린 카테고리는 최상위로 둔다.
+ * 게시글 수만 바뀌므로 자기 게시글 수 (own) 와 하위 포함 합계 (total) 는 AtomicLongArray 로 들고, 증감하면 조상 합계까지 올린다.
+ */
+public final class CategoryTree {
+
+    private final List<Node> nodes;
+    private final Map<Long, Integer> positions;
+    private final int[] parents;
+    private final AtomicLongArray own;
+    private final AtomicLongArray total;
+
+    private CategoryTree(List<Node> nodes, int[] parents, long[] ownCounts) {
+        this.nodes = List.copyOf(nodes);
+        this.parents = parents;
+        this.positions = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            positions.put(nodes.get(i).id, i);
+        }
+
+        this.own = new AtomicLongArray(ownCounts);
+        long[] totals = ownCounts.clone();
+        // lft 순이라 뒤에서부터 부모에 더하면 자식 합계가 먼저 끝난다
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            if (parents[i] >= 0) {
+                totals[parents[i]] += totals[i];
+            }
+        }
+        this.total = new AtomicLongArray(totals);
+    }
+
+    public static CategoryTree empty() {
+        return new CategoryTree(List.of(), new int[0], new long[0]);
+    }
+
+    public static CategoryTree build(Collection<Entry> entries) {
+        Map<Long, Entry> byId = new HashMap<>();
+        for (Entry entry : entries) {
+            byId.put(entry.id, entry);
+        }
+
+        Map<Long, List<Entry>> children = new HashMap<>();
+        List<Entry> roots = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.parentId == null || !byId.containsKey(entry.parentId) || entry.parentId.equals(entry.id)) {
+                roots.add(entry);
+            } else {
+                children.computeIfAbsent(entry.parentId, id -> new ArrayList<>()).add(entry);
+            }
+        }
+        Comparator<Entry> byIdOrder = Comparator.comparing(entry -> entry.id);
+        roots.sort(byIdOrder);
+        children.values().forEach(list -> list.sort(byIdOrder));
+
+        Builder builder = new Builder(children);
+        for (Entry root : roots) {
+            builder.visit(root);
+        }
+
+        // 순환에 걸려 최상위에서 닿지 않은 카테고리
+        List<Entry> unreached = entries.stream()
+                .filter(entry -> !builder.visited.contains(entry.id))
+                .sorted(byIdOrder)
+                .toList();
+        for (Entry entry : unreached) {
+            if (!builder.visited.contains(entry.id)) {
+                builder.visit(entry);
+            }
+        }
+
+        return new CategoryTree(builder.nodes, builder.parents(), builder.ownCounts());
+    }
+
+    public Node find(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        return position == null ? null : nodes.get(position);
+    }
+
+    /**
+     * lft 순 (부모가 항상 자식보다 앞) 전체 노드.
+     */
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public long ownCount(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        return position == null ? 0L : own.get(position);
+    }
+
+    public long totalCount(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        return position == null ? 0L : total.get(position);
+    }
+
+    /**
+     * 자신과 모든 하위 카테고리 id. lft 순으로 놓여 있어 자기 자리부터 rgt 안쪽까지 이어서 읽으면 된다.
+     */
+    public List<Long> subtreeIds(Long categoryId) {
+        Integer position = positions.get(categoryId);
+        if (position == null) {
+            return List.of();
+        }
+
+        int rgt = nodes.get(position).rgt;
+        List<Long> ids = new ArrayList<>();
+        for (int i = position; i < nodes.size() && nodes.get(i).lft < rgt; i++) {
+            ids.add(nodes.get(i).id);
+        }
+        return ids;
+    }
+
+    /**
+     * 카테고리의 게시글 수를 증감하고 조상들의 합계에도 반영한다. 트리에 없는 카테고리면 false.
+     */
+    public boolean add(Long categoryId, long delta) {
+        Integer position = positions.get(categoryId);
+        if (position == null) {
+            return false;
+        }
+
+        own.addAndGet(position, delta);
+        for (int i = position; i >= 0; i = parents[i]) {
+            total.addAndGet(i, delta);
+        }
+        return true;
+    }
+
+    /**
+     * descendantId 가 ancestorId 자신이거나 그 하위 카테고리인지.
+     */
+    public boolean contains(Long ancestorId, Long descendantId) {
+        Node ancestor = find(ancestorId);
+        Node descendant = find(descendantId);
+        return ancestor != null && descendant != null
+                && ancestor.lft <= descendant.lft && descendant.rgt <= ancestor.rgt;
+    }
+
+    public static final class Entry {
+        private final Long id;
+        private final Long parentId;
+        private final String name;
+        private final long ownCount;
+
+        public Entry(Long id, Long parentId, String name, long ownCount) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.ownCount = ownCount;
+        }
+    }
+
+    public static final class Node {
+        private final Long id;
+        private final Long parentId;
+        private final String name;
+        private final int lft;
+        private final int rgt;
+        private final int depth;
+
+        private Node(Long id, Long parentId, String name, int lft, int rgt, int depth) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.lft = lft;
+            this.rgt = rgt;
+            this.depth = depth;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getParentId() {
+            return parentId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getLft() {
+            return lft;
+        }
+
+        public int getRgt() {
+            return rgt;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+    }
+
+    private static final class Builder {
+        private final Map<Long, List<Entry>> children;
+        private final Set<Long> visited = new HashSet<>();
+        private final List<Node> nodes = new ArrayList<>();
+        private final List<Integer> parentPositions = new ArrayList<>();
+        private final List<Long> owns = new ArrayList<>();
+        private int counter;
+
+        private Builder(Map<Long, List<Entry>> children) {
+            this.children = children;
+        }
+
+        /**
+         * 깊은 트리에서도 stack overflow 가 나지 않도록 직접 stack 을 쓴다.
+         */
+        private void visit(Entry root) {
+            Deque<Frame> stack = new ArrayDeque<>();
+            stack.push(open(root, null, -1, 0));
+
+            while (!stack.isEmpty()) {
+                Frame frame = stack.peek();
+                List<Entry> kids = children.getOrDefault(frame.entry.id, List.of());
+
+                Entry next = null;
+                while (frame.nextChild < kids.size() && next == null) {
+                    Entry kid = kids.get(frame.nextChild++);
+                    if (!visited.contains(kid.id)) {
+                        next = kid;
+                    }
+                }
+
+                if (next != null) {
+                    stack.push(open(next, frame.entry.id, frame.position, frame.depth + 1));
+                } else {
+                    stack.pop();
+                    Node open = nodes.get(frame.position);
+                    nodes.set(frame.position, new Node(open.id, open.parentId, open.name, open.lft, ++counter, open.depth));
+                }
+            }
+        }
+
+        private Frame open(Entry entry, Long parentId, int parentPosition, int depth) {
+            visited.add(entry.id);
+            int position = nodes.size();
+            nodes.add(new Node(entry.id, parentId, entry.name, ++counter, 0, depth));
+            parentPositions.add(parentPosition);
+            owns.add(entry.ownCount);
+            return new Frame(entry, position, depth);
+        }
+
+        private int[] parents() {
+            return parentPositions.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private long[] ownCounts() {
+            return owns.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    private static final class Frame {
+        private final Entry entry;
+        private final int position;
+        private final int depth;
+        private int nextChild;
+
+        private Frame(Entry entry, int position, int depth) {
+            this.entry = entry;
+            this.position = position;
+            this.depth = depth;
+        }
+    }
+
+}
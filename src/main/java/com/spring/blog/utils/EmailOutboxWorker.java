@@ -0,0 +1,239 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.entity.EmailOutbox;
+import com.spring.blog.entity.common.MailStatus;
+import com.spring.blog.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * email_outbox 테이블을 비우는 worker.
+ * <p>
+ * 전송할 메일을 batch 단위로 선점(claim)해서 SMTP 연결 하나로 모두 보낸다. 실패한 메일은 지수 백오프로 다시 시도하고,
+ * 최대 횟수를 넘기면 DEAD 상태로 남겨둔다. 선점한 worker 가 죽으면 lease 가 끝난 뒤 다른 worker 가 다시 가져간다.
+ * <p>
+ * 한 batch 는 SMTP 서버가 가장 느릴 때 (연결 시간 + 메일마다 read/write timeout) 에도 lease 안에 끝나도록 크기를 줄인다.
+ * 결과는 선점할 때 쓴 lease 를 아직 들고 있을 때만 기록하므로, lease 가 지나 다른 worker 가 가져간 메일을 덮어쓰지 않는다.
+ */
+@Component
+public class EmailOutboxWorker implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender javaMailSender;
+    private final int workers;
+    private final int batchSize;
+    private final long pollIntervalMillis;
+    private final int maxAttempts;
+    private final long initialBackoffSeconds;
+    private final long maxBackoffSeconds;
+    private final long leaseSeconds;
+    private final int effectiveBatchSize;
+
+    private ScheduledExecutorService executor;
+
+    public EmailOutboxWorker(
+            EmailOutboxRepository emailOutboxRepository,
+            JavaMailSender javaMailSender,
+            @Value("${email.outbox.workers:2}") int workers,
+            @Value("${email.outbox.batch-size:50}") int batchSize,
+            @Value("${email.outbox.poll-interval-millis:1000}") long pollIntervalMillis,
+            @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${email.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+            @Value("${email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${email.outbox.lease-seconds:300}") long leaseSeconds,
+            @Value("${spring.mail.properties.mail.smtp.connectiontimeout:0}") long connectTimeoutMillis,
+            @Value("${spring.mail.properties.mail.smtp.timeout:0}") long readTimeoutMillis,
+            @Value("${spring.mail.properties.mail.smtp.writetimeout:0}") long writeTimeoutMillis) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffSeconds = initialBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.leaseSeconds = leaseSeconds;
+        this.effectiveBatchSize = fitBatchSize(batchSize, leaseSeconds, connectTimeoutMillis, readTimeoutMillis + writeTimeoutMillis);
+    }
+
+    /**
+     * 연결 시간 + 메일 수 x (read + write timeout) 가 lease 를 넘지 않는 batch 크기. timeout 이 없으면 (무한) 설정값 그대로.
+     */
+    static int fitBatchSize(int batchSize, long leaseSeconds, long connectTimeoutMillis, long perMessageMillis) {
+        if (connectTimeoutMillis <= 0 || perMessageMillis <= 0) {
+            return batchSize;
+        }
+
+        long fits = (TimeUnit.SECONDS.toMillis(leaseSeconds) - connectTimeoutMillis) / perMessageMillis;
+        if (fits < 1) {
+            throw new IllegalStateException("email.outbox.lease-seconds 가 메일 한 통을 보내는 최대 시간보다 짧습니다.");
+        }
+        if (fits < batchSize) {
+            LOGGER.info("email outbox batch size reduced from {} to {} to fit the {}s lease", batchSize, fits, leaseSeconds);
+            return (int) fits;
+        }
+        return batchSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (workers <= 0) {
+            return;
+        }
+
+        executor = Executors.newScheduledThreadPool(workers, new EmailOutboxThreadFactory());
+        for (int i = 0; i < workers; i++) {
+            executor.scheduleWithFixedDelay(this::drain, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void drain() {
+        try {
+            // batch 가 가득 찼으면 밀린 메일이 더 있으므로 쉬지 않고 이어서 보낸다
+            while (dispatchBatch() == effectiveBatchSize) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("email outbox dispatch failed", ex);
+        }
+    }
+
+    /**
+     * 전송할 메일 한 batch 를 선점해서 보내고 결과를 기록한다. 선점한 메일 수를 반환한다.
+     */
+    public int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        // 결과를 기록할 때 lease 를 아직 들고 있는지 이 값으로 확인하므로 DB 정밀도에 맞춰 초 단위로 자른다
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds).truncatedTo(ChronoUnit.SECONDS);
+
+        List<EmailOutbox> claimed = new ArrayList<>();
+        for (EmailOutbox mail : emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                MailStatus.PENDING, now, PageRequest.of(0, effectiveBatchSize))) {
+            if (emailOutboxRepository.claim(mail.getId(), now, leaseUntil) == 1) {
+                claimed.add(mail);
+            }
+        }
+
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[claimed.size()];
+        for (int i = 0; i < messages.length; i++) {
+            EmailOutbox mail = claimed.get(i);
+            messages[i] = new SimpleMailMessage();
+            messages[i].setTo(mail.getRecipient());
+            messages[i].setSubject(mail.getSubject());
+            messages[i].setText(mail.getText());
+        }
+
+        Map<Object, Exception> failures = send(messages);
+
+        LocalDateTime finishedAt = LocalDateTime.now();
+        for (int i = 0; i < messages.length; i++) {
+            EmailOutbox mail = claimed.get(i);
+            Exception failure = failures.get(messages[i]);
+
+            if (failure == null) {
+                mail.setStatus(MailStatus.SENT);
+                mail.setSentAt(finishedAt);
+                mail.setLastError(null);
+            } else {
+                markFailed(mail, failure, finishedAt);
+            }
+
+            if (emailOutboxRepository.complete(mail.getId(), leaseUntil, mail.getStatus(), mail.getAttempts(),
+                    mail.getNextAttemptAt(), mail.getSentAt(), mail.getLastError()) == 0) {
+                LOGGER.warn("email outbox {} lease expired before its result was recorded", mail.getId());
+            }
+        }
+
+        return claimed.size();
+    }
+
+    // JavaMailSender 는 배열로 넘긴 메일을 연결 하나로 보내고, 실패한 메일만 MailSendException 에 담아준다
+    private Map<Object, Exception> send(SimpleMailMessage[] messages) {
+        try {
+            javaMailSender.send(messages);
+            return Map.of();
+        } catch (MailSendException ex) {
+            if (!ex.getFailedMessages().isEmpty()) {
+                return ex.getFailedMessages();
+            }
+            return failAll(messages, ex);
+        } catch (MailException ex) {
+            return failAll(messages, ex);
+        }
+    }
+
+    private Map<Object, Exception> failAll(SimpleMailMessage[] messages, Exception ex) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage message : messages) {
+            failures.put(message, ex);
+        }
+        return failures;
+    }
+
+    private void markFailed(EmailOutbox mail, Exception failure, LocalDateTime now) {
+        int attempts = mail.getAttempts() + 1;
+        String error = String.valueOf(failure.getMessage());
+
+        mail.setAttempts(attempts);
+        mail.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (attempts >= maxAttempts) {
+            mail.setStatus(MailStatus.DEAD);
+            LOGGER.warn("email outbox {} moved to dead letter after {} attempts", mail.getId(), attempts);
+            return;
+        }
+
+        long backoff = initialBackoffSeconds << Math.min(attempts - 1, 20);
+        mail.setNextAttemptAt(now.plusSeconds(Math.min(backoff, maxBackoffSeconds)));
+    }
+
+    private static class EmailOutboxThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "email-outbox-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -1,20 +1,41 @@
 package com.spring.blog.utils;
 
+import com.spring.blog.entity.EmailOutbox;
+import com.spring.blog.entity.common.LocalDate;
+import com.spring.blog.entity.common.MailStatus;
+import com.spring.blog.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+
+/**
+ * 메일을 바로 보내지 않고 outbox 테이블에 저장한다. 호출한 쪽의 트랜잭션에 함께 묶이며,
+ * 실제 전송은 EmailOutboxWorker 가 맡는다.
+ */
 @Component
 @RequiredArgsConstructor
 public class EmailSenderUtil {
 
-    private final JavaMailSender javaMailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
 
-    @Async
     public void sendEmail(SimpleMailMessage simpleMailMessage) {
-        javaMailSender.send(simpleMailMessage);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (String recipient : simpleMailMessage.getTo()) {
+            emailOutboxRepository.save(EmailOutbox.builder()
+                    .recipient(recipient)
+                    .subject(simpleMailMessage.getSubject())
+                    .text(simpleMailMessage.getText())
+                    .status(MailStatus.PENDING)
+                    .attempts(0)
+                    .nextAttemptAt(now)
+                    .date(LocalDate.builder()
+                            .createdAt(now)
+                            .build())
+                    .build());
+        }
     }
 
 }
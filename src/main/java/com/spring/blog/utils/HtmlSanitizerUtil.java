@@ -0,0 +1,386 @@
+package com.spring.blog.utils;
+
+/**
+ * 게시글/댓글 본문용 HTML sanitizer.
+ * <p>
+ * DOM 을 만들지 않고 입력을 한 번만 훑으면서 허용 목록(allowlist)에 있는 태그와 속성만 출력한다.
+ * 출력 버퍼는 입력 길이만큼 한 번 잡고, 정리할 것이 없는 입력은 원본 문자열을 그대로 돌려준다.
+ */
+public class HtmlSanitizerUtil {
+
+    private static final String[] ALLOWED_TAGS = {
+            "a", "b", "blockquote", "br", "code", "em", "h1", "h2", "h3", "h4", "h5", "h6",
+            "hr", "i", "img", "li", "ol", "p", "pre", "s", "strong", "sub", "sup", "u", "ul"
+    };
+
+    private static final String[] VOID_TAGS = {"br", "hr", "img"};
+
+    // 태그와 내용을 통째로 버리는 요소
+    private static final String[] DROP_CONTENT_TAGS = {
+            "script", "style", "iframe", "object", "embed", "noscript", "textarea", "title", "xmp"
+    };
+
+    private static final String[] A_ATTRIBUTES = {"href", "title"};
+    private static final String[] IMG_ATTRIBUTES = {"src", "alt", "title", "width", "height"};
+    private static final String[] NO_ATTRIBUTES = {};
+
+    private static final String[] ALLOWED_URL_SCHEMES = {"http", "https", "mailto"};
+
+    private static final int MAX_DEPTH = 64;
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private HtmlSanitizerUtil() {
+    }
+
+    public static String sanitize(String html) {
+        if (html == null || !needsSanitizing(html)) {
+            return html;
+        }
+
+        StringBuilder out = new StringBuilder(html.length());
+        int[] openTags = new int[MAX_DEPTH];
+        int depth = 0;
+
+        int length = html.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = html.charAt(i);
+
+            if (c == '&') {
+                i = appendEntityOrAmpersand(html, i, out);
+                continue;
+            }
+
+            if (c == '>') {
+                out.append("&gt;");
+                i++;
+                continue;
+            }
+
+            if (c != '<') {
+                out.append(c);
+                i++;
+                continue;
+            }
+
+            int next = i + 1 < length ? html.charAt(i + 1) : -1;
+
+            // 주석, doctype, processing instruction 은 출력하지 않는다
+            if (next == '!' || next == '?') {
+                i = skipMarkup(html, i);
+                continue;
+            }
+
+            boolean closing = next == '/';
+            int nameStart = closing ? i + 2 : i + 1;
+            int nameEnd = nameStart;
+            while (nameEnd < length && isTagNameChar(html.charAt(nameEnd))) {
+                nameEnd++;
+            }
+
+            if (nameEnd == nameStart || !isLetter(html.charAt(nameStart))) {
+                // 태그가 아닌 '<' 는 텍스트로 취급
+                out.append("&lt;");
+                i++;
+                continue;
+            }
+
+            int tagEnd = findTagEnd(html, nameEnd);
+            if (tagEnd < 0) {
+                // 닫히지 않은 태그는 나머지를 텍스트로 취급
+                out.append("&lt;");
+                i++;
+                continue;
+            }
+
+            int tag = indexOfName(ALLOWED_TAGS, html, nameStart, nameEnd);
+
+            if (closing) {
+                if (tag >= 0) {
+                    int open = lastIndexOf(openTags, depth, tag);
+                    if (open >= 0) {
+                        while (depth > open) {
+                            appendClosingTag(out, openTags[--depth]);
+                        }
+                    }
+                }
+                i = tagEnd + 1;
+                continue;
+            }
+
+            if (tag < 0) {
+                int drop = indexOfName(DROP_CONTENT_TAGS, html, nameStart, nameEnd);
+                i = drop >= 0 ? skipElementContent(html, tagEnd + 1, DROP_CONTENT_TAGS[drop]) : tagEnd + 1;
+                continue;
+            }
+
+            boolean isVoid = indexOf(VOID_TAGS, ALLOWED_TAGS[tag]) >= 0;
+            if (!isVoid && depth == MAX_DEPTH) {
+                i = tagEnd + 1;
+                continue;
+            }
+
+            out.append('<').append(ALLOWED_TAGS[tag]);
+            appendAttributes(html, nameEnd, tagEnd, ALLOWED_TAGS[tag], out);
+            out.append('>');
+
+            if (!isVoid) {
+                openTags[depth++] = tag;
+            }
+            i = tagEnd + 1;
+        }
+
+        while (depth > 0) {
+            appendClosingTag(out, openTags[--depth]);
+        }
+
+        return out.toString();
+    }
+
+    private static boolean needsSanitizing(String html) {
+        for (int i = 0; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (c == '<' || c == '>' || c == '&') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendAttributes(String html, int from, int tagEnd, String tagName, StringBuilder out) {
+        String[] allowed = attributesOf(tagName);
+        int i = from;
+
+        while (i < tagEnd) {
+            char c = html.charAt(i);
+            if (Character.isWhitespace(c) || c == '/') {
+                i++;
+                continue;
+            }
+
+            int nameStart = i;
+            while (i < tagEnd && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '=' && html.charAt(i) != '/') {
+                i++;
+            }
+            int nameEnd = i;
+
+            while (i < tagEnd && Character.isWhitespace(html.charAt(i))) {
+                i++;
+            }
+
+            int valueStart = -1;
+            int valueEnd = -1;
+            if (i < tagEnd && html.charAt(i) == '=') {
+                i++;
+                while (i < tagEnd && Character.isWhitespace(html.charAt(i))) {
+                    i++;
+                }
+                if (i < tagEnd && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+                    char quote = html.charAt(i++);
+                    valueStart = i;
+                    while (i < tagEnd && html.charAt(i) != quote) {
+                        i++;
+                    }
+                    valueEnd = i;
+                    i++;
+                } else {
+                    valueStart = i;
+                    while (i < tagEnd && !Character.isWhitespace(html.charAt(i))) {
+                        i++;
+                    }
+                    valueEnd = i;
+                }
+            }
+
+            int attribute = indexOfName(allowed, html, nameStart, nameEnd);
+            if (attribute < 0 || valueStart < 0) {
+                continue;
+            }
+
+            String name = allowed[attribute];
+            boolean isUrl = name.equals("href") || name.equals("src");
+            if (isUrl && !isSafeUrl(html, valueStart, valueEnd)) {
+                continue;
+            }
+
+            out.append(' ').append(name).append("=\"");
+            appendAttributeValue(html, valueStart, valueEnd, isUrl, out);
+            out.append('"');
+        }
+    }
+
+    private static void appendAttributeValue(String html, int from, int to, boolean isUrl, StringBuilder out) {
+        int i = from;
+        while (i < to) {
+            char c = html.charAt(i);
+            switch (c) {
+                case '&':
+                    // URL 속성은 엔티티로 스킴을 숨길 수 있으므로 그대로 두지 않는다
+                    if (isUrl) {
+                        out.append("&amp;");
+                        i++;
+                    } else {
+                        i = appendEntityOrAmpersand(html, i, out);
+                    }
+                    continue;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                default:
+                    out.append(c);
+            }
+            i++;
+        }
+    }
+
+    private static boolean isSafeUrl(String html, int from, int to) {
+        int start = from;
+        while (start < to && html.charAt(start) <= ' ') {
+            start++;
+        }
+
+        for (int i = start; i < to; i++) {
+            char c = html.charAt(i);
+            if (c < ' ' || c == 0x7f) {
+                return false;
+            }
+            if (c == '/' || c == '?' || c == '#') {
+                // 스킴 없는 상대 경로
+                return true;
+            }
+            if (c == ':') {
+                for (String scheme : ALLOWED_URL_SCHEMES) {
+                    if (i - start == scheme.length() && html.regionMatches(true, start, scheme, 0, scheme.length())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int appendEntityOrAmpersand(String html, int ampersand, StringBuilder out) {
+        int limit = Math.min(html.length(), ampersand + MAX_ENTITY_LENGTH + 2);
+        int i = ampersand + 1;
+
+        if (i < limit && html.charAt(i) == '#') {
+            i++;
+        }
+        int bodyStart = i;
+        while (i < limit && Character.isLetterOrDigit(html.charAt(i))) {
+            i++;
+        }
+
+        if (i > bodyStart && i < limit && html.charAt(i) == ';') {
+            out.append(html, ampersand, i + 1);
+            return i + 1;
+        }
+
+        out.append("&amp;");
+        return ampersand + 1;
+    }
+
+    private static int skipMarkup(String html, int from) {
+        if (html.startsWith("<!--", from)) {
+            int end = html.indexOf("-->", from + 4);
+            return end < 0 ? html.length() : end + 3;
+        }
+        int end = html.indexOf('>', from);
+        return end < 0 ? html.length() : end + 1;
+    }
+
+    private static int skipElementContent(String html, int from, String tagName) {
+        int i = from;
+        while ((i = html.indexOf("</", i)) >= 0) {
+            int nameStart = i + 2;
+            int nameEnd = nameStart + tagName.length();
+            if (nameEnd <= html.length()
+                    && html.regionMatches(true, nameStart, tagName, 0, tagName.length())
+                    && (nameEnd == html.length() || !isTagNameChar(html.charAt(nameEnd)))) {
+                int end = html.indexOf('>', nameEnd);
+                return end < 0 ? html.length() : end + 1;
+            }
+            i = nameStart;
+        }
+        return html.length();
+    }
+
+    private static int findTagEnd(String html, int from) {
+        char quote = 0;
+        for (int i = from; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            } else if (c == '<') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static void appendClosingTag(StringBuilder out, int tag) {
+        out.append("</").append(ALLOWED_TAGS[tag]).append('>');
+    }
+
+    private static String[] attributesOf(String tagName) {
+        switch (tagName) {
+            case "a":
+                return A_ATTRIBUTES;
+            case "img":
+                return IMG_ATTRIBUTES;
+            default:
+                return NO_ATTRIBUTES;
+        }
+    }
+
+    private static int indexOfName(String[] names, String html, int from, int to) {
+        int length = to - from;
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].length() == length && html.regionMatches(true, from, names[i], 0, length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(int[] stack, int depth, int tag) {
+        for (int i = depth - 1; i >= 0; i--) {
+            if (stack[i] == tag) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isTagNameChar(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9');
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.exception.BadRequestException;
+import com.spring.blog.payload.ApiResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * (작성 시각, id) 내림차순 목록의 다음 페이지 위치.
+ * <p>
+ * 마지막 행의 작성 시각과 id 를 cursor 문자열에 그대로 담아, 다음 페이지를 그 행을 다시 읽지 않고 (그 사이 지워졌어도) 이어서 조회한다.
+ * 클라이언트는 nextCursor 를 해석하지 않고 그대로 넘긴다.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '_';
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private KeysetCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * cursor 가 없으면 null (첫 페이지). 형식이 틀리면 BadRequestException.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException(new ApiResponse(Boolean.FALSE, "잘못된 cursor 입니다."));
+        }
+    }
+
+}
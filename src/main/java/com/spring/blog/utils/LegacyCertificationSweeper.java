@@ -0,0 +1,85 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.repository.CertificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 토큰으로 바꾸기 전에 발급된 certifications 행 정리.
+ * <p>
+ * 사용했거나 만료된 행을 batch 단위로 지우고, 남은 행(아직 유효한 예전 토큰)은 만료된 뒤 다음 주기에 지운다.
+ * 테이블이 비면 더 돌지 않는다.
+ */
+@Component
+public class LegacyCertificationSweeper implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LegacyCertificationSweeper.class);
+
+    private final CertificationRepository certificationRepository;
+    private final int batchSize;
+    private final long intervalMinutes;
+
+    private ScheduledExecutorService executor;
+
+    public LegacyCertificationSweeper(
+            CertificationRepository certificationRepository,
+            @Value("${certification.sweep.batch-size:500}") int batchSize,
+            @Value("${certification.sweep.interval-minutes:10}") long intervalMinutes) {
+        this.certificationRepository = certificationRepository;
+        this.batchSize = batchSize;
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "certification-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::run, 0L, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void run() {
+        try {
+            long deleted = sweep();
+            if (deleted > 0) {
+                LOGGER.info("deleted {} legacy certifications", deleted);
+            }
+            if (certificationRepository.count() == 0) {
+                executor.shutdown();
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("legacy certification sweep failed", ex);
+        }
+    }
+
+    public long sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        long deleted = 0;
+
+        List<String> ids;
+        while (!(ids = certificationRepository.findSweepableIds(now, PageRequest.of(0, batchSize))).isEmpty()) {
+            certificationRepository.deleteAllByIdInBatch(ids);
+            deleted += ids.size();
+        }
+        return deleted;
+    }
+
+}
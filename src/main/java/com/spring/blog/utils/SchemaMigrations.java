@@ -0,0 +1,129 @@
+package com.spring.blog.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ddl-auto(update) 로는 안 되는 한 번짜리 데이터/스키마 변경.
+ * <p>
+ * 이름 순서대로 한 번씩만 실행하고 schema_migrations 에 기록한다. 여러 노드가 같이 떠도 MySQL named lock 으로
+ * 한 노드만 실행한다. 큰 테이블은 id 범위 batch 로 나눠 한 번에 오래 잠그지 않는다.
+ * EntityManagerFactory 에 의존해서 Hibernate 가 테이블을 만든 뒤에 돈다.
+ */
+@Component
+public class SchemaMigrations implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    private static final String LOCK_NAME = "schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 300;
+    private static final int BATCH_SIZE = 1000;
+
+    // 작성 시각 keyset cursor 로 읽는 테이블 (LocalDate.createdAt 이 NOT NULL 로 매핑된 엔티티)
+    private static final List<String> CREATED_AT_TABLES = List.of("posts", "comments", "users", "notifications", "categories");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Runnable> migrations = new LinkedHashMap<>();
+
+    public SchemaMigrations(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        migrations.put("0001_created_at_not_null", this::createdAtNotNull);
+        migrations.put("0002_post_rank_counters", this::postRankCounters);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations ("
+                + "name VARCHAR(100) NOT NULL PRIMARY KEY, "
+                + "applied_at DATETIME(6) NOT NULL)");
+
+        // named lock 은 잡은 connection 에 묶이므로 끝날 때까지 그 connection 을 쥐고 있는다
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+                lock.setString(1, LOCK_NAME);
+                lock.setInt(2, LOCK_TIMEOUT_SECONDS);
+                try (ResultSet result = lock.executeQuery()) {
+                    if (!result.next() || result.getInt(1) != 1) {
+                        throw new IllegalStateException("schema_migrations lock 을 얻지 못했습니다.");
+                    }
+                }
+            }
+
+            try {
+                migrate();
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, LOCK_NAME);
+                    release.execute();
+                }
+            }
+            return null;
+        });
+    }
+
+    private void migrate() {
+        Set<String> applied = new HashSet<>(jdbcTemplate.queryForList("SELECT name FROM schema_migrations", String.class));
+
+        for (Map.Entry<String, Runnable> migration : migrations.entrySet()) {
+            if (applied.contains(migration.getKey())) {
+                continue;
+            }
+
+            LOGGER.info("applying schema migration {}", migration.getKey());
+            migration.getValue().run();
+            jdbcTemplate.update("INSERT INTO schema_migrations (name, applied_at) VALUES (?, NOW(6))", migration.getKey());
+        }
+    }
+
+    /**
+     * 예전 행의 비어 있는 created_at 을 updated_at (없으면 지금) 으로 채우고 NOT NULL 로 바꾼다.
+     */
+    private void createdAtNotNull() {
+        for (String table : CREATED_AT_TABLES) {
+            updateInBatches(table, "UPDATE " + table + " SET created_at = COALESCE(updated_at, NOW(6)) "
+                    + "WHERE id > ? AND id <= ? AND created_at IS NULL");
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY created_at DATETIME(6) NOT NULL");
+        }
+    }
+
+    /**
+     * posts.liked / posts.comment_count 를 likes/comments 에서 한 번 다시 센다 (비어 있던 liked 포함).
+     * 그 뒤로는 PostRankService 가 좋아요/댓글 변경과 같은 트랜잭션에서 증감한다.
+     */
+    private void postRankCounters() {
+        updateInBatches("posts", "UPDATE posts p SET "
+                + "p.liked = (SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id), "
+                + "p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id AND c.is_enable = 1) "
+                + "WHERE p.id > ? AND p.id <= ?");
+        jdbcTemplate.execute("ALTER TABLE posts MODIFY liked INT NOT NULL DEFAULT 0");
+    }
+
+    /**
+     * sql 은 (id > ? AND id <= ?) 범위 두 개를 받는다. batch 마다 따로 commit 된다.
+     */
+    private void updateInBatches(String table, String sql) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        for (long from = 0; from < maxId; from += BATCH_SIZE) {
+            jdbcTemplate.update(sql, from, Math.min(from + BATCH_SIZE, maxId));
+        }
+    }
+
+}
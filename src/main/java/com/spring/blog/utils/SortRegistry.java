@@ -0,0 +1,111 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.exception.BadRequestException;
+import com.spring.blog.payload.ApiResponse;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+
+/**
+ * 목록 API 마다 허용하는 정렬 key 와 그 정렬을 받쳐주는 인덱스.
+ * <p>
+ * 정렬 key 는 인덱스 컬럼 순서 그대로의 property 목록으로 풀린다. 목록 조회가 is_enable 처럼 상수로 거르는 컬럼은
+ * 정렬 앞에 같이 넣어 (결과 순서는 같다) 인덱스 순서대로 읽게 하고, 마지막에 id 를 붙여 페이지 경계가 흔들리지 않게 한다.
+ * 등록되지 않은 key 는 BadRequestException 으로 거절한다.
+ */
+public final class SortRegistry {
+
+    public static final String PRIMARY = "PRIMARY";
+
+    public static final SortRegistry POSTS = new SortRegistry("posts")
+            .key("id", "idx_posts_enable_id", "isEnable", "id")
+            .key("createdAt", "idx_posts_enable_created", "isEnable", "date.createdAt", "id")
+            .key("liked", "idx_posts_enable_liked", "isEnable", "liked", "id")
+            .key("commentCount", "idx_posts_enable_comments", "isEnable", "commentCount", "id");
+
+    public static final SortRegistry COMMENTS = new SortRegistry("comments")
+            .key("id", "idx_comments_enable_id", "isEnable", "id")
+            .key("createdAt", "idx_comments_enable_created", "isEnable", "date.createdAt", "id");
+
+    public static final SortRegistry USERS = new SortRegistry("users")
+            .key("id", PRIMARY, "id")
+            .key("createdAt", "idx_users_created", "date.createdAt", "id")
+            .key("name", "idx_users_name", "name", "id");
+
+    public static final SortRegistry NOTIFICATIONS = new SortRegistry("notifications")
+            .key("id", "idx_notifications_enable_id", "isEnable", "id")
+            .key("createdAt", "idx_notifications_enable_created", "isEnable", "date.createdAt", "id");
+
+    public static final SortRegistry CATEGORIES = new SortRegistry("categories")
+            .key("id", PRIMARY, "id")
+            .key("name", "idx_categories_name", "name", "id")
+            .key("postCount", "idx_categories_post_count", "postCount", "id");
+
+    private final String table;
+    private final Map<String, SortKey> keys = new LinkedHashMap<>();
+
+    private SortRegistry(String table) {
+        this.table = table;
+    }
+
+    private SortRegistry key(String name, String index, String... properties) {
+        keys.put(name, new SortKey(name, index, List.of(properties)));
+        return this;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public Collection<SortKey> keys() {
+        return Collections.unmodifiableCollection(keys.values());
+    }
+
+    public Sort resolve(String sortBy, String sortDir) {
+        SortKey key = keys.get(sortBy);
+        if (key == null) {
+            ApiResponse apiResponse = new ApiResponse(Boolean.FALSE, "정렬할 수 없는 항목입니다. 가능한 항목: " + String.join(", ", keys.keySet()));
+            throw new BadRequestException(apiResponse);
+        }
+
+        Sort.Direction direction = Sort.Direction.ASC.name().equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, key.properties.toArray(new String[0]));
+    }
+
+    public static final class SortKey {
+        private final String name;
+        private final String index;
+        private final List<String> properties;
+
+        private SortKey(String name, String index, List<String> properties) {
+            this.name = name;
+            this.index = index;
+            this.properties = properties;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        public List<String> getProperties() {
+            return properties;
+        }
+
+        /**
+         * property 의 마지막 이름을 snake_case 로 바꾼 컬럼 목록 (date.createdAt -> created_at).
+         */
+        public List<String> columns() {
+            return properties.stream().map(SortKey::columnOf).toList();
+        }
+
+        private static String columnOf(String property) {
+            String name = property.substring(property.lastIndexOf('.') + 1);
+            return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+        }
+    }
+
+}
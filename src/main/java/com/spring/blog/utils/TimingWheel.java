@@ -0,0 +1,129 @@
+package com.spring.blog.utils;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * long 값을 만료 시각에 내보내는 계층형 timing wheel.
+ * <p>
+ * 레벨마다 slotsPerLevel 개의 slot 이 있고, 위 레벨의 tick 은 아래 레벨 한 바퀴 길이와 같다.
+ * 먼 만료는 위 레벨에 넣었다가 시간이 다가오면 아래 레벨로 내려보내므로 add/advance 모두 항목당 상수 시간이다.
+ * 만료는 tick 단위로 늦게 일어날 수는 있어도 일찍 일어나지는 않는다. 스레드 안전하지 않다.
+ */
+public class TimingWheel {
+
+    private final long[] tickMillis;
+    private final int slotsPerLevel;
+    private final Bucket[][] buckets;
+    private final LongConsumer onExpire;
+
+    private long currentTime;
+    private int size;
+
+    public TimingWheel(long tickMillis, int slotsPerLevel, int levels, long startMillis, LongConsumer onExpire) {
+        this.tickMillis = new long[levels];
+        this.slotsPerLevel = slotsPerLevel;
+        this.buckets = new Bucket[levels][slotsPerLevel];
+        this.onExpire = onExpire;
+
+        long tick = tickMillis;
+        for (int level = 0; level < levels; level++) {
+            this.tickMillis[level] = tick;
+            for (int slot = 0; slot < slotsPerLevel; slot++) {
+                buckets[level][slot] = new Bucket();
+            }
+            tick *= slotsPerLevel;
+        }
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    public void add(long value, long expiresAtMillis) {
+        size++;
+        place(value, expiresAtMillis);
+    }
+
+    public void advance(long nowMillis) {
+        long tick = tickMillis[0];
+
+        while (currentTime + tick <= nowMillis) {
+            // 지나가는 tick 의 slot 을 비운다 (한 바퀴 넘게 남은 항목은 다시 배치)
+            Bucket passed = buckets[0][slotOf(0, currentTime)];
+            currentTime += tick;
+            cascade(passed);
+
+            for (int level = tickMillis.length - 1; level > 0; level--) {
+                if (currentTime % tickMillis[level] == 0) {
+                    cascade(buckets[level][slotOf(level, currentTime)]);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(long value, long expiresAtMillis) {
+        if (expiresAtMillis < currentTime) {
+            size--;
+            onExpire.accept(value);
+            return;
+        }
+
+        for (int level = 0; level < tickMillis.length; level++) {
+            long distance = expiresAtMillis / tickMillis[level] - currentTime / tickMillis[level];
+            if (distance < slotsPerLevel) {
+                buckets[level][slotOf(level, expiresAtMillis)].add(value, expiresAtMillis);
+                return;
+            }
+        }
+
+        // 가장 위 레벨보다 먼 만료는 가장 나중에 내려오는 slot 에 두었다가 다시 배치한다
+        int top = tickMillis.length - 1;
+        long lastSlotTime = currentTime + tickMillis[top] * (slotsPerLevel - 1);
+        buckets[top][slotOf(top, lastSlotTime)].add(value, expiresAtMillis);
+    }
+
+    private void cascade(Bucket bucket) {
+        if (bucket.size == 0) {
+            return;
+        }
+
+        long[] values = Arrays.copyOf(bucket.values, bucket.size);
+        long[] expiresAt = Arrays.copyOf(bucket.expiresAt, bucket.size);
+        bucket.clear();
+
+        for (int i = 0; i < values.length; i++) {
+            place(values[i], expiresAt[i]);
+        }
+    }
+
+    private int slotOf(int level, long time) {
+        return (int) Math.floorMod(time / tickMillis[level], (long) slotsPerLevel);
+    }
+
+    private static class Bucket {
+        private long[] values = new long[4];
+        private long[] expiresAt = new long[4];
+        private int size;
+
+        void add(long value, long expiresAtMillis) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                expiresAt = Arrays.copyOf(expiresAt, size * 2);
+            }
+            values[size] = value;
+            expiresAt[size] = expiresAtMillis;
+            size++;
+        }
+
+        void clear() {
+            size = 0;
+            if (values.length > 64) {
+                values = new long[4];
+                expiresAt = new long[4];
+            }
+        }
+    }
+
+}
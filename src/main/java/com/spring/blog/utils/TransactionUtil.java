@@ -0,0 +1,28 @@
+package com.spring.blog.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 메모리 상태 (사전, 캐시, 집계) 를 DB 변경과 맞추기 위한 트랜잭션 헬퍼.
+ */
+public class TransactionUtil {
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에 실행하고 (롤백되면 실행하지 않는다), 트랜잭션 밖이면 바로 실행한다.
+     */
+    public static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+}
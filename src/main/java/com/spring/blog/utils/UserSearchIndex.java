@@ -0,0 +1,228 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.entity.User;
+import com.spring.blog.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 사용자 검색용 메모리 인덱스.
+ * <p>
+ * 이메일/이름마다 정렬된 prefix 인덱스와 3-gram 인덱스를 두어 LIKE '%...%' 전체 스캔 없이 사용자 id 를 찾는다.
+ * 3글자 이상은 부분 일치, 그보다 짧은 검색어는 앞부분 일치로 찾는다. 대소문자는 구분하지 않는다.
+ * 정렬 key (SortRegistry.USERS) 값도 같이 들고 있어서 정렬과 페이지 자르기를 여기서 끝내고, DB 에는 한 페이지의 id 만 넘긴다.
+ * 노드별 메모리에만 있으므로 다른 노드에서 가입/수정한 사용자는 재시작해야 반영된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex implements InitializingBean {
+
+    private static final int GRAM = 3;
+    private static final char SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Field email = new Field(Entry::getEmail);
+    private final Field name = new Field(Entry::getName);
+
+    @Override
+    public void afterPropertiesSet() {
+        for (Object[] row : userRepository.findAllSearchEntries()) {
+            put((Long) row[0], (String) row[1], (String) row[2], (LocalDateTime) row[3]);
+        }
+    }
+
+    public void put(User user) {
+        put(user.getId(), user.getEmail(), user.getName(), user.getDate() == null ? null : user.getDate().getCreatedAt());
+    }
+
+    public synchronized void remove(Long userId) {
+        Entry old = entries.remove(userId);
+        if (old != null) {
+            email.remove(userId, old);
+            name.remove(userId, old);
+        }
+    }
+
+    /**
+     * 이메일 또는 이름이 일치하는 사용자 중 pageable 의 정렬 순서로 한 페이지의 id 와 전체 건수.
+     * 검색어 중 하나라도 비어 있으면 전체를 뜻하는 null 을 반환한다.
+     */
+    public SearchResult search(String emailKeyword, String nameKeyword, Pageable pageable) {
+        if (isBlank(emailKeyword) || isBlank(nameKeyword)) {
+            return null;
+        }
+
+        Set<Long> matched = email.search(normalize(emailKeyword));
+        matched.addAll(name.search(normalize(nameKeyword)));
+
+        Comparator<Long> comparator = comparator(pageable.getSort());
+        List<Long> ids = matched.stream()
+                .sorted(comparator)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+
+        return new SearchResult(ids, matched.size());
+    }
+
+    private synchronized void put(Long userId, String emailValue, String nameValue, LocalDateTime createdAt) {
+        remove(userId);
+
+        Entry entry = new Entry(normalize(emailValue), normalize(nameValue), createdAt);
+        entries.put(userId, entry);
+        email.add(userId, entry);
+        name.add(userId, entry);
+    }
+
+    private Comparator<Long> comparator(Sort sort) {
+        Comparator<Long> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Long> next = switch (order.getProperty()) {
+                case "id" -> Comparator.naturalOrder();
+                case "name" -> Comparator.comparing(userId -> entryOf(userId).getName());
+                case "date.createdAt" -> Comparator.comparing(userId -> entryOf(userId).getCreatedAt(),
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> throw new IllegalArgumentException("정렬할 수 없는 항목입니다: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? Comparator.naturalOrder() : comparator;
+    }
+
+    private Entry entryOf(Long userId) {
+        // 검색과 정렬 사이에 지워진 사용자는 빈 값으로 정렬한다 (다음 조회에서 빠진다)
+        Entry entry = entries.get(userId);
+        return entry == null ? Entry.EMPTY : entry;
+    }
+
+    private static boolean isBlank(String keyword) {
+        return keyword == null || keyword.isEmpty();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private class Field {
+
+        private final Function<Entry, String> value;
+        private final NavigableSet<String> prefixes = new ConcurrentSkipListSet<>();
+        private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+
+        Field(Function<Entry, String> value) {
+            this.value = value;
+        }
+
+        void add(Long userId, Entry entry) {
+            String text = value.apply(entry);
+            prefixes.add(text + SEPARATOR + userId);
+
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.computeIfAbsent(text.substring(i, i + GRAM), k -> ConcurrentHashMap.newKeySet()).add(userId);
+            }
+        }
+
+        void remove(Long userId, Entry entry) {
+            String text = value.apply(entry);
+            prefixes.remove(text + SEPARATOR + userId);
+
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                String gram = text.substring(i, i + GRAM);
+                Set<Long> ids = grams.get(gram);
+                if (ids != null) {
+                    ids.remove(userId);
+                    if (ids.isEmpty()) {
+                        grams.remove(gram, ids);
+                    }
+                }
+            }
+        }
+
+        Set<Long> search(String keyword) {
+            return keyword.length() < GRAM ? searchPrefix(keyword) : searchInfix(keyword);
+        }
+
+        private Set<Long> searchPrefix(String keyword) {
+            Set<Long> result = new HashSet<>();
+            for (String key : prefixes.subSet(keyword, true, keyword + Character.MAX_VALUE, true)) {
+                result.add(Long.valueOf(key.substring(key.lastIndexOf(SEPARATOR) + 1)));
+            }
+            return result;
+        }
+
+        private Set<Long> searchInfix(String keyword) {
+            // 가장 작은 posting 을 후보로 잡고 실제 포함 여부만 확인한다
+            Set<Long> candidates = null;
+            for (int i = 0; i + GRAM <= keyword.length(); i++) {
+                Set<Long> ids = grams.get(keyword.substring(i, i + GRAM));
+                if (ids == null) {
+                    return new HashSet<>();
+                }
+                if (candidates == null || ids.size() < candidates.size()) {
+                    candidates = ids;
+                }
+            }
+
+            Set<Long> result = new HashSet<>();
+            for (Long userId : candidates) {
+                Entry entry = entries.get(userId);
+                if (entry != null && value.apply(entry).contains(keyword)) {
+                    result.add(userId);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class Entry {
+
+        static final Entry EMPTY = new Entry("", "", null);
+
+        private final String email;
+        private final String name;
+        private final LocalDateTime createdAt;
+
+        Entry(String email, String name, LocalDateTime createdAt) {
+            this.email = email;
+            this.name = name;
+            this.createdAt = createdAt;
+        }
+
+        String getEmail() {
+            return email;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Long> ids;
+        private final long total;
+    }
+
+}
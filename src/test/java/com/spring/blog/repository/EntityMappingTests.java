@@ -0,0 +1,63 @@
+package com.spring.blog.repository;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.metamodel.EntityType;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 엔티티 매핑을 내장 DB 로 한 번 만들어 본다. 매핑이 틀리면 (없는 컬럼을 가리키는 인덱스 등) 여기서 context 가 뜨지 않는다.
+ */
+@DataJpaTest
+public class EntityMappingTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DisplayName("JUnit Test every entity index is created on its table")
+    @Test
+    public void givenEntities_whenBuildSchema_thenDeclaredIndexesExist() throws SQLException {
+        for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            Table table = entity.getJavaType().getAnnotation(Table.class);
+            if (table == null || table.indexes().length == 0) {
+                continue;
+            }
+
+            Set<String> created = indexesOf(table.name());
+            for (Index index : table.indexes()) {
+                Assertions.assertThat(created).as("%s.%s", table.name(), index.name()).contains(index.name());
+            }
+        }
+    }
+
+    private Set<String> indexesOf(String table) throws SQLException {
+        Set<String> created = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             ResultSet indexes = connection.getMetaData().getIndexInfo(null, null, table.toUpperCase(Locale.ROOT), false, false)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    created.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return created;
+    }
+
+}
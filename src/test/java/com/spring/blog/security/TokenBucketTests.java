@@ -0,0 +1,38 @@
+package com.spring.blog.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucketTests {
+
+    private static final long PERIOD = TimeUnit.SECONDS.toNanos(60);
+
+    @DisplayName("JUnit Test token bucket allows burst up to capacity")
+    @Test
+    public void givenFullBucket_whenConsume_thenAllowCapacityRequests() {
+        TokenBucket bucket = new TokenBucket(10, PERIOD, 0L);
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThat(bucket.tryConsume(0L)).isZero();
+        }
+        Assertions.assertThat(bucket.tryConsume(0L)).isEqualTo(TimeUnit.SECONDS.toNanos(6));
+    }
+
+    @DisplayName("JUnit Test token bucket refills over time")
+    @Test
+    public void givenEmptyBucket_whenTimePasses_thenRefill() {
+        TokenBucket bucket = new TokenBucket(10, PERIOD, 0L);
+        for (int i = 0; i < 10; i++) {
+            bucket.tryConsume(0L);
+        }
+
+        long now = TimeUnit.SECONDS.toNanos(6);
+        Assertions.assertThat(bucket.tryConsume(now)).isZero();
+        Assertions.assertThat(bucket.tryConsume(now)).isPositive();
+        Assertions.assertThat(bucket.isIdleSince(TimeUnit.SECONDS.toNanos(66))).isTrue();
+    }
+
+}
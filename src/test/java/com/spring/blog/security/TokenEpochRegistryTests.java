@@ -0,0 +1,72 @@
+package com.spring.blog.security;
+
+import com.spring.blog.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.when;
+
+public class TokenEpochRegistryTests {
+
+    private final AtomicLong storedEpoch = new AtomicLong();
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findTokenEpochById(1L)).thenAnswer(invocation -> Optional.of(storedEpoch.get()));
+        when(userRepository.findTokenEpochById(2L)).thenReturn(Optional.empty());
+        when(userRepository.increaseTokenEpoch(1L)).thenAnswer(invocation -> {
+            storedEpoch.incrementAndGet();
+            return 1;
+        });
+    }
+
+    @DisplayName("JUnit Test revoked epoch survives a restart")
+    @Test
+    public void givenRevokedUser_whenNewRegistry_thenOldTokenRejected() {
+        TokenEpochRegistry registry = registry(60);
+        long issued = registry.currentEpoch(1L);
+
+        registry.revoke(1L);
+
+        Assertions.assertThat(registry.isCurrent(1L, issued)).isFalse();
+        Assertions.assertThat(registry(60).isCurrent(1L, issued)).isFalse();
+        Assertions.assertThat(registry(60).isCurrent(1L, registry.currentEpoch(1L))).isTrue();
+    }
+
+    @DisplayName("JUnit Test epoch bumped on another node is seen after the cache expires")
+    @Test
+    public void givenRevokedElsewhere_whenCacheExpires_thenOldTokenRejected() {
+        TokenEpochRegistry cached = registry(60);
+        TokenEpochRegistry uncached = registry(0);
+        long issued = cached.currentEpoch(1L);
+        uncached.currentEpoch(1L);
+
+        storedEpoch.incrementAndGet();
+
+        Assertions.assertThat(cached.isCurrent(1L, issued)).isTrue();
+        Assertions.assertThat(uncached.isCurrent(1L, issued)).isFalse();
+    }
+
+    @DisplayName("JUnit Test token of a missing user is never current")
+    @Test
+    public void givenMissingUser_whenIsCurrent_thenRejected() {
+        Assertions.assertThat(registry(60).isCurrent(2L, 0L)).isFalse();
+    }
+
+    private TokenEpochRegistry registry(long cacheSeconds) {
+        TokenEpochRegistry registry = new TokenEpochRegistry(userRepository);
+        ReflectionTestUtils.setField(registry, "cacheSeconds", cacheSeconds);
+        ReflectionTestUtils.setField(registry, "cacheSize", 100);
+        return registry;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.spring.blog.service;
+
+import com.spring.blog.service.impl.CategoryTreeServiceImpl;
+import com.spring.blog.utils.CategoryTree;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+public class CategoryTreeServiceTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private CategoryTreeServiceImpl categoryTreeService;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:category_tree;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE categories (id BIGINT PRIMARY KEY, parent_id BIGINT, name VARCHAR(255), "
+                + "post_count BIGINT NOT NULL DEFAULT 0, lft INT, rgt INT, depth INT)");
+        jdbcTemplate.execute("CREATE TABLE sequence_counters (name VARCHAR(50) PRIMARY KEY, current_value BIGINT NOT NULL)");
+
+        categoryTreeService = new CategoryTreeServiceImpl(jdbcTemplate);
+        categoryTreeService.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @DisplayName("JUnit Test inserting categories shifts only the right side and matches a full renumber")
+    @Test
+    public void givenInserts_whenCompareWithBuild_thenSameNumbers() {
+        create(1L, null);
+        create(2L, 1L);
+        create(3L, null);
+        create(4L, 2L);
+        create(5L, 1L);
+        create(6L, 3L);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, parent_id, lft, rgt, depth FROM categories ORDER BY id");
+        CategoryTree expected = CategoryTree.build(rows.stream()
+                .map(row -> new CategoryTree.Entry(((Number) row.get("id")).longValue(),
+                        row.get("parent_id") == null ? null : ((Number) row.get("parent_id")).longValue(), "c", 0))
+                .toList());
+
+        for (Map<String, Object> row : rows) {
+            CategoryTree.Node node = expected.find(((Number) row.get("id")).longValue());
+            Assertions.assertThat(row.get("lft")).as("lft of %s", row.get("id")).isEqualTo(node.getLft());
+            Assertions.assertThat(row.get("rgt")).as("rgt of %s", row.get("id")).isEqualTo(node.getRgt());
+            Assertions.assertThat(row.get("depth")).as("depth of %s", row.get("id")).isEqualTo(node.getDepth());
+        }
+        Assertions.assertThat(categoryTreeService.current().subtreeIds(1L)).containsExactly(1L, 2L, 4L, 5L);
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT current_value FROM sequence_counters WHERE name = 'category_tree'", Long.class))
+                .isEqualTo(6L);
+    }
+
+    private void create(Long id, Long parentId) {
+        jdbcTemplate.update("INSERT INTO categories (id, parent_id, name) VALUES (?, ?, ?)", id, parentId, "c" + id);
+        categoryTreeService.insert(id, parentId);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.spring.blog.service;
+
+import com.spring.blog.exception.BadRequestException;
+import com.spring.blog.service.impl.TagDictionaryServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TagDictionaryServiceTests {
+
+    private static final String URL = "jdbc:h2:mem:tag_dictionary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private TagDictionaryServiceImpl tagDictionaryService;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL 기본 collation 처럼 대소문자를 구분하지 않는 이름 컬럼
+        jdbcTemplate.execute("CREATE TABLE tags (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR_IGNORECASE(255) NOT NULL UNIQUE, "
+                + "post_count BIGINT NOT NULL DEFAULT 0, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY)");
+
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        tagDictionaryService = new TagDictionaryServiceImpl(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate),
+                Mockito.mock(NameLookupService.class));
+        tagDictionaryService.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @DisplayName("JUnit Test existing tag unknown to the dictionary resolves inside an open transaction")
+    @Test
+    public void givenExistingTag_whenResolveInOpenTransaction_thenExistingId() {
+        // 다른 노드에서 만들어져 이 사전에는 없는 태그
+        jdbcTemplate.update("INSERT INTO tags (name, post_count) VALUES ('Spring', 0)");
+
+        List<Long> tagIds = transactionTemplate.execute(status -> {
+            // 게시글 생성처럼 먼저 다른 테이블을 읽어 스냅샷을 잡는다
+            jdbcTemplate.queryForList("SELECT id FROM posts");
+            return tagDictionaryService.resolve(List.of("spring", "java"));
+        });
+
+        Long springId = jdbcTemplate.queryForObject("SELECT id FROM tags WHERE name = 'Spring'", Long.class);
+        Long javaId = jdbcTemplate.queryForObject("SELECT id FROM tags WHERE name = 'java'", Long.class);
+        Assertions.assertThat(tagIds).containsExactly(springId, javaId);
+        Assertions.assertThat(tagDictionaryService.lookup(List.of("SPRING"))).containsExactly(springId);
+    }
+
+    @DisplayName("JUnit Test tag committed after the snapshot never resolves to a null id")
+    @Test
+    public void givenTagCommittedAfterSnapshot_whenResolve_thenIdOrBadRequest() {
+        AtomicReference<List<Long>> tagIds = new AtomicReference<>();
+
+        Throwable thrown = Assertions.catchThrowable(() -> tagIds.set(transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM posts");
+            jdbcTemplate.queryForList("SELECT id FROM tags");
+
+            new JdbcTemplate(new DriverManagerDataSource(URL)).update("INSERT INTO tags (name, post_count) VALUES ('Spring', 0)");
+
+            return tagDictionaryService.resolve(List.of("spring"));
+        })));
+
+        // InnoDB 의 잠금 읽기는 최신 커밋을 보므로 그 id 가 나오고, 잠금 읽기도 스냅샷으로 읽는 DB (H2) 에서는 400 이다
+        if (thrown == null) {
+            Long springId = jdbcTemplate.queryForObject("SELECT id FROM tags WHERE name = 'Spring'", Long.class);
+            Assertions.assertThat(tagIds.get()).containsExactly(springId);
+        } else {
+            Assertions.assertThat(thrown).isInstanceOf(BadRequestException.class);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.spring.blog.utils;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class BkTreeTests {
+
+    @DisplayName("JUnit Test levenshtein distance")
+    @Test
+    public void givenStrings_whenDistance_thenEditCount() {
+        Assertions.assertThat(BkTree.distance("springboot", "springboot")).isZero();
+        Assertions.assertThat(BkTree.distance("sprngboot", "springboot")).isEqualTo(1);
+        Assertions.assertThat(BkTree.distance("kitten", "sitting")).isEqualTo(3);
+        Assertions.assertThat(BkTree.distance("", "jpa")).isEqualTo(3);
+    }
+
+    @DisplayName("JUnit Test bk-tree search matches a brute force scan")
+    @Test
+    public void givenRandomKeys_whenSearch_thenSameAsBruteForce() {
+        Random random = new Random(42);
+        BkTree<Long> tree = new BkTree<>();
+        Map<Long, String> keys = new HashMap<>();
+
+        for (long id = 0; id < 2_000; id++) {
+            String key = randomKey(random);
+            keys.put(id, key);
+            tree.add(key, id);
+        }
+        for (long id = 0; id < 2_000; id += 3) {
+            Assertions.assertThat(tree.remove(keys.remove(id), id)).isTrue();
+        }
+
+        for (int i = 0; i < 50; i++) {
+            String query = randomKey(random);
+            Map<Long, Integer> found = new HashMap<>();
+            tree.search(query, 2, found::put);
+
+            Map<Long, Integer> expected = new HashMap<>();
+            keys.forEach((id, key) -> {
+                int distance = BkTree.distance(query, key);
+                if (distance <= 2) {
+                    expected.put(id, distance);
+                }
+            });
+
+            Assertions.assertThat(found).isEqualTo(expected);
+        }
+        Assertions.assertThat(tree.size()).isEqualTo(keys.size());
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 3 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(4)));
+        }
+        return key.toString();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.spring.blog.utils;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class CategoryTreeTests {
+
+    @DisplayName("JUnit Test category tree numbers subtrees inside their parent range")
+    @Test
+    public void givenParents_whenBuild_thenNestedSetRanges() {
+        CategoryTree tree = CategoryTree.build(List.of(
+                new CategoryTree.Entry(1L, null, "Tech", 2),
+                new CategoryTree.Entry(2L, 1L, "Java", 3),
+                new CategoryTree.Entry(3L, 2L, "Spring", 4),
+                new CategoryTree.Entry(4L, 1L, "Go", 1),
+                new CategoryTree.Entry(5L, null, "Life", 7)));
+
+        Assertions.assertThat(tree.nodes()).extracting(CategoryTree.Node::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        Assertions.assertThat(tree.find(1L).getLft()).isEqualTo(1);
+        Assertions.assertThat(tree.find(1L).getRgt()).isEqualTo(8);
+        Assertions.assertThat(tree.find(3L).getDepth()).isEqualTo(2);
+        Assertions.assertThat(tree.find(5L).getLft()).isEqualTo(9);
+
+        Assertions.assertThat(tree.contains(1L, 3L)).isTrue();
+        Assertions.assertThat(tree.contains(4L, 3L)).isFalse();
+        Assertions.assertThat(tree.contains(3L, 1L)).isFalse();
+
+        Assertions.assertThat(tree.subtreeIds(1L)).containsExactly(1L, 2L, 3L, 4L);
+        Assertions.assertThat(tree.subtreeIds(2L)).containsExactly(2L, 3L);
+        Assertions.assertThat(tree.subtreeIds(5L)).containsExactly(5L);
+        Assertions.assertThat(tree.subtreeIds(99L)).isEmpty();
+
+        Assertions.assertThat(tree.totalCount(1L)).isEqualTo(10L);
+        Assertions.assertThat(tree.totalCount(2L)).isEqualTo(7L);
+        Assertions.assertThat(tree.ownCount(2L)).isEqualTo(3L);
+    }
+
+    @DisplayName("JUnit Test category tree rolls post counts up to every ancestor")
+    @Test
+    public void givenDelta_whenAdd_thenAncestorTotalsChange() {
+        CategoryTree tree = CategoryTree.build(List.of(
+                new CategoryTree.Entry(1L, null, "Tech", 0),
+                new CategoryTree.Entry(2L, 1L, "Java", 0),
+                new CategoryTree.Entry(3L, 2L, "Spring", 0),
+                new CategoryTree.Entry(4L, null, "Life", 0)));
+
+        tree.add(3L, 2);
+        tree.add(2L, -1);
+
+        Assertions.assertThat(tree.totalCount(1L)).isEqualTo(1L);
+        Assertions.assertThat(tree.totalCount(2L)).isEqualTo(1L);
+        Assertions.assertThat(tree.totalCount(3L)).isEqualTo(2L);
+        Assertions.assertThat(tree.totalCount(4L)).isZero();
+        Assertions.assertThat(tree.add(99L, 1)).isFalse();
+    }
+
+    @DisplayName("JUnit Test category tree puts orphans and cycles at the top level")
+    @Test
+    public void givenBrokenParents_whenBuild_thenEveryCategoryNumbered() {
+        CategoryTree tree = CategoryTree.build(List.of(
+                new CategoryTree.Entry(1L, 2L, "A", 0),
+                new CategoryTree.Entry(2L, 1L, "B", 0),
+                new CategoryTree.Entry(3L, 42L, "C", 0)));
+
+        Assertions.assertThat(tree.size()).isEqualTo(3);
+        Assertions.assertThat(tree.nodes()).allSatisfy(node -> Assertions.assertThat(node.getRgt()).isGreaterThan(node.getLft()));
+        Assertions.assertThat(tree.find(3L).getDepth()).isZero();
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.entity.EmailOutbox;
+import com.spring.blog.entity.common.MailStatus;
+import com.spring.blog.repository.EmailOutboxRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EmailOutboxWorkerTests {
+
+    private static final String REJECTED = "bounce@blog.com";
+
+    private LocalSmtpServer smtpServer;
+    private EmailOutboxRepository emailOutboxRepository;
+    private EmailOutboxWorker emailOutboxWorker;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        smtpServer = new LocalSmtpServer(REJECTED);
+
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("127.0.0.1");
+        javaMailSender.setPort(smtpServer.getPort());
+
+        emailOutboxRepository = Mockito.mock(EmailOutboxRepository.class);
+        when(emailOutboxRepository.claim(anyLong(), any(), any())).thenReturn(1);
+
+        emailOutboxWorker = new EmailOutboxWorker(emailOutboxRepository, javaMailSender,
+                0, 50, 1000, 3, 30, 3600, 300, 0, 0, 0);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        smtpServer.close();
+    }
+
+    @DisplayName("JUnit Test dispatch batch sends all mails over one connection")
+    @Test
+    public void givenPendingMails_whenDispatchBatch_thenSendOverOneConnection() {
+        List<EmailOutbox> mails = List.of(mail(1L, "a@blog.com", 0), mail(2L, "b@blog.com", 0), mail(3L, "c@blog.com", 0));
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any())).thenReturn(mails);
+
+        int dispatched = emailOutboxWorker.dispatchBatch();
+
+        Assertions.assertThat(dispatched).isEqualTo(3);
+        Assertions.assertThat(smtpServer.getConnections()).isEqualTo(1);
+        Assertions.assertThat(smtpServer.getRecipients()).containsExactlyInAnyOrder("a@blog.com", "b@blog.com", "c@blog.com");
+        Assertions.assertThat(mails).allMatch(mail -> mail.getStatus() == MailStatus.SENT);
+    }
+
+    @DisplayName("JUnit Test dispatch batch retries failed mail and keeps dead letters")
+    @Test
+    public void givenRejectedRecipient_whenDispatchBatch_thenRetryThenDeadLetter() {
+        EmailOutbox ok = mail(1L, "a@blog.com", 0);
+        EmailOutbox retry = mail(2L, REJECTED, 0);
+        EmailOutbox dead = mail(3L, REJECTED, 2);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any()))
+                .thenReturn(List.of(ok, retry, dead));
+
+        emailOutboxWorker.dispatchBatch();
+
+        Assertions.assertThat(ok.getStatus()).isEqualTo(MailStatus.SENT);
+        Assertions.assertThat(retry.getStatus()).isEqualTo(MailStatus.PENDING);
+        Assertions.assertThat(retry.getAttempts()).isEqualTo(1);
+        Assertions.assertThat(retry.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+        Assertions.assertThat(dead.getStatus()).isEqualTo(MailStatus.DEAD);
+        Assertions.assertThat(dead.getLastError()).isNotBlank();
+    }
+
+    @DisplayName("JUnit Test dispatch batch retries everything when smtp is down")
+    @Test
+    public void givenSmtpDown_whenDispatchBatch_thenRetryAll() throws Exception {
+        smtpServer.close();
+        EmailOutbox mail = mail(1L, "a@blog.com", 0);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any()))
+                .thenReturn(List.of(mail));
+
+        emailOutboxWorker.dispatchBatch();
+
+        Assertions.assertThat(mail.getStatus()).isEqualTo(MailStatus.PENDING);
+        Assertions.assertThat(mail.getAttempts()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit Test dispatch batch records results only under the lease it claimed")
+    @Test
+    public void givenClaimedMail_whenDispatchBatch_thenCompleteChecksSameLease() {
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any()))
+                .thenReturn(List.of(mail(1L, "a@blog.com", 0)));
+
+        emailOutboxWorker.dispatchBatch();
+
+        ArgumentCaptor<LocalDateTime> claimedLease = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(emailOutboxRepository).claim(eq(1L), any(), claimedLease.capture());
+        verify(emailOutboxRepository).complete(eq(1L), eq(claimedLease.getValue()), eq(MailStatus.SENT), eq(0), any(), any(), isNull());
+    }
+
+    @DisplayName("JUnit Test batch size shrinks so the slowest smtp batch fits in the lease")
+    @Test
+    public void givenSmtpTimeouts_whenFitBatchSize_thenWorstCaseWithinLease() {
+        // 5s 연결 + 메일마다 10s read + 10s write, 300s lease 면 14 통까지
+        Assertions.assertThat(EmailOutboxWorker.fitBatchSize(50, 300, 5000, 20000)).isEqualTo(14);
+        Assertions.assertThat(EmailOutboxWorker.fitBatchSize(10, 300, 5000, 20000)).isEqualTo(10);
+        Assertions.assertThat(EmailOutboxWorker.fitBatchSize(50, 300, 0, 0)).isEqualTo(50);
+        Assertions.assertThatThrownBy(() -> EmailOutboxWorker.fitBatchSize(50, 10, 5000, 20000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private EmailOutbox mail(Long id, String recipient, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("회원가입 이메일 인증")
+                .text("http://localhost:8080/confirm-email?token=" + id)
+                .status(MailStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+}
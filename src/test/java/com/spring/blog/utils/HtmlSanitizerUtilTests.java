@@ -0,0 +1,49 @@
+package com.spring.blog.utils;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class HtmlSanitizerUtilTests {
+
+    @DisplayName("JUnit Test sanitize plain text returns same instance")
+    @Test
+    public void givenPlainText_whenSanitize_thenReturnSameInstance() {
+        String content = "스프링 부트 블로그 본문입니다.";
+
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize(content)).isSameAs(content);
+    }
+
+    @DisplayName("JUnit Test sanitize keeps allowed tags")
+    @Test
+    public void givenAllowedTags_whenSanitize_thenKeepTags() {
+        String content = "<p>Hello <b>world</b> <a href=\"https://spring.io\" title=\"spring\">link</a></p>";
+
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize(content)).isEqualTo(content);
+    }
+
+    @DisplayName("JUnit Test sanitize removes scripts and event handlers")
+    @Test
+    public void givenScriptAndHandlers_whenSanitize_thenRemoveThem() {
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("<script>alert(1)</script>ok")).isEqualTo("ok");
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("<img src=x onerror=alert(1)>")).isEqualTo("<img src=\"x\">");
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("<div onclick=\"x()\">text</div>")).isEqualTo("text");
+    }
+
+    @DisplayName("JUnit Test sanitize drops unsafe url schemes")
+    @Test
+    public void givenUnsafeUrl_whenSanitize_thenDropAttribute() {
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("<a href=\"javascript:alert(1)\">x</a>")).isEqualTo("<a>x</a>");
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("<a href=\"java&#115;cript:alert(1)\">x</a>"))
+                .isEqualTo("<a href=\"java&amp;#115;cript:alert(1)\">x</a>");
+    }
+
+    @DisplayName("JUnit Test sanitize escapes text and balances tags")
+    @Test
+    public void givenBrokenMarkup_whenSanitize_thenEscapeAndBalance() {
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("a < b && c > d")).isEqualTo("a &lt; b &amp;&amp; c &gt; d");
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("<p><b>unclosed")).isEqualTo("<p><b>unclosed</b></p>");
+        Assertions.assertThat(HtmlSanitizerUtil.sanitize("</b>stray")).isEqualTo("stray");
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.exception.BadRequestException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+public class KeysetCursorTests {
+
+    @DisplayName("JUnit Test cursor keeps createdAt and id of the last row")
+    @Test
+    public void givenLastRow_whenEncodeAndDecode_thenSamePosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(createdAt, 42L));
+
+        Assertions.assertThat(cursor.getCreatedAt()).isEqualTo(createdAt);
+        Assertions.assertThat(cursor.getId()).isEqualTo(42L);
+        Assertions.assertThat(KeysetCursor.decode(null)).isNull();
+    }
+
+    @DisplayName("JUnit Test malformed cursor is a bad request")
+    @Test
+    public void givenMalformedCursor_whenDecode_thenBadRequest() {
+        Assertions.assertThatThrownBy(() -> KeysetCursor.decode("42"))
+                .isInstanceOf(BadRequestException.class);
+        Assertions.assertThatThrownBy(() -> KeysetCursor.decode("!!"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.spring.blog.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 최소 SMTP 서버. 받은 수신자와 연결 수만 기록하고, rejectedRecipient 로 가는 메일은 550 으로 거절한다.
+ */
+public class LocalSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final String rejectedRecipient;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<String> recipients = new CopyOnWriteArrayList<>();
+    private final Thread acceptor;
+
+    public LocalSmtpServer(String rejectedRecipient) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.rejectedRecipient = rejectedRecipient;
+        this.acceptor = new Thread(this::acceptLoop, "local-smtp");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connections.incrementAndGet();
+                handle(socket);
+            } catch (IOException ignored) {
+                // 서버 종료
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+        String recipient = null;
+
+        reply(out, "220 localhost");
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+
+            if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                reply(out, "250 localhost");
+            } else if (command.startsWith("RCPT TO:")) {
+                recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                reply(out, recipient.equals(rejectedRecipient) ? "550 mailbox unavailable" : "250 OK");
+            } else if (command.equals("DATA")) {
+                reply(out, "354 end data with <CR><LF>.<CR><LF>");
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    // 본문은 버린다
+                }
+                recipients.add(recipient);
+                reply(out, "250 OK");
+            } else if (command.equals("QUIT")) {
+                reply(out, "221 bye");
+                return;
+            } else {
+                reply(out, "250 OK");
+            }
+        }
+    }
+
+    private void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.entity.*;
+import com.spring.blog.exception.BadRequestException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+public class SortRegistryTests {
+
+    // 목록 조회가 상수로 거르는 조건 (정렬 앞에 같이 들어간 컬럼)
+    private static final Map<SortRegistry, String> FILTERS = Map.of(
+            SortRegistry.POSTS, "WHERE is_enable = 0",
+            SortRegistry.COMMENTS, "WHERE is_enable = 1",
+            SortRegistry.USERS, "",
+            SortRegistry.NOTIFICATIONS, "WHERE is_enable = 0",
+            SortRegistry.CATEGORIES, "");
+
+    private static final Map<SortRegistry, Class<?>> ENTITIES = Map.of(
+            SortRegistry.POSTS, Post.class,
+            SortRegistry.COMMENTS, Comment.class,
+            SortRegistry.USERS, User.class,
+            SortRegistry.NOTIFICATIONS, Notification.class,
+            SortRegistry.CATEGORIES, Category.class);
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:sort_registry;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY, title VARCHAR(255), user_id BIGINT, category_id BIGINT, "
+                    + "is_enable INT, created_at TIMESTAMP, liked INT, comment_count BIGINT)");
+            statement.execute("CREATE TABLE comments (id BIGINT PRIMARY KEY, post_id BIGINT, user_id BIGINT, is_enable INT, created_at TIMESTAMP)");
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255), name VARCHAR(255), created_at TIMESTAMP)");
+            statement.execute("CREATE TABLE notifications (id BIGINT PRIMARY KEY, user_id BIGINT, is_enable INT, created_at TIMESTAMP)");
+            statement.execute("CREATE TABLE categories (id BIGINT PRIMARY KEY, name VARCHAR(255), parent_id BIGINT, lft INT, rgt INT, "
+                    + "depth INT, post_count BIGINT, created_at TIMESTAMP)");
+
+            // 엔티티에 선언한 인덱스를 그대로 만든다
+            for (Class<?> entity : ENTITIES.values()) {
+                Table table = entity.getAnnotation(Table.class);
+                for (Index index : table.indexes()) {
+                    statement.execute("CREATE INDEX " + index.name() + " ON " + table.name() + " (" + index.columnList() + ")");
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @DisplayName("JUnit Test every sort key names an entity index with the same columns")
+    @Test
+    public void givenSortKeys_whenReadEntityIndexes_thenColumnsMatch() {
+        for (Map.Entry<SortRegistry, Class<?>> entry : ENTITIES.entrySet()) {
+            Table table = entry.getValue().getAnnotation(Table.class);
+            Assertions.assertThat(table.name()).isEqualTo(entry.getKey().getTable());
+
+            Map<String, String> indexes = new HashMap<>();
+            for (Index index : table.indexes()) {
+                indexes.put(index.name(), index.columnList());
+            }
+
+            for (SortRegistry.SortKey key : entry.getKey().keys()) {
+                if (SortRegistry.PRIMARY.equals(key.getIndex())) {
+                    Assertions.assertThat(key.columns()).containsExactly("id");
+                } else {
+                    Assertions.assertThat(indexes.get(key.getIndex()))
+                            .as("%s.%s", table.name(), key.getName())
+                            .isEqualTo(String.join(", ", key.columns()));
+                }
+            }
+        }
+    }
+
+    @DisplayName("JUnit Test every allowed sort reads its index in order without a filesort")
+    @Test
+    public void givenSortKeys_whenExplain_thenIndexSorted() throws SQLException {
+        for (SortRegistry registry : ENTITIES.keySet()) {
+            for (SortRegistry.SortKey key : registry.keys()) {
+                String sql = "EXPLAIN SELECT id FROM " + registry.getTable() + " " + FILTERS.get(registry)
+                        + " ORDER BY " + String.join(", ", key.columns()) + " LIMIT 30";
+
+                String plan = explain(sql);
+
+                Assertions.assertThat(plan).as(sql).contains("index sorted");
+                if (!SortRegistry.PRIMARY.equals(key.getIndex())) {
+                    Assertions.assertThat(plan.toLowerCase(Locale.ROOT)).as(sql).contains(key.getIndex());
+                }
+            }
+        }
+    }
+
+    @DisplayName("JUnit Test sort registry resolves known keys and rejects unknown ones")
+    @Test
+    public void givenSortBy_whenResolve_thenIndexColumnsOrRejected() {
+        Sort sort = SortRegistry.POSTS.resolve("liked", "desc");
+
+        Assertions.assertThat(sort.stream().map(Sort.Order::getProperty)).containsExactly("isEnable", "liked", "id");
+        Assertions.assertThat(sort.stream().allMatch(Sort.Order::isDescending)).isTrue();
+        Assertions.assertThat(SortRegistry.USERS.resolve("id", "ASC").getOrderFor("id").isAscending()).isTrue();
+
+        Assertions.assertThatThrownBy(() -> SortRegistry.POSTS.resolve("content", "asc"))
+                .isInstanceOf(BadRequestException.class);
+        Assertions.assertThatThrownBy(() -> SortRegistry.USERS.resolve("nmae", "asc"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.spring.blog.utils;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimingWheelTests {
+
+    @DisplayName("JUnit Test timing wheel expires values in order and never early")
+    @Test
+    public void givenValues_whenAdvance_thenExpireAtDeadline() {
+        List<Long> expired = new ArrayList<>();
+        TimingWheel timingWheel = new TimingWheel(1_000L, 60, 3, 0L, expired::add);
+
+        timingWheel.add(1L, 500L);
+        timingWheel.add(2L, 90_000L);
+        timingWheel.add(3L, 7_200_000L);
+
+        timingWheel.advance(999L);
+        Assertions.assertThat(expired).isEmpty();
+
+        timingWheel.advance(1_000L);
+        Assertions.assertThat(expired).containsExactly(1L);
+
+        timingWheel.advance(89_999L);
+        Assertions.assertThat(expired).containsExactly(1L);
+
+        timingWheel.advance(91_000L);
+        Assertions.assertThat(expired).containsExactly(1L, 2L);
+
+        timingWheel.advance(7_201_000L);
+        Assertions.assertThat(expired).containsExactly(1L, 2L, 3L);
+        Assertions.assertThat(timingWheel.size()).isZero();
+    }
+
+    @DisplayName("JUnit Test timing wheel keeps values beyond the top level")
+    @Test
+    public void givenFarDeadline_whenAdvance_thenExpireAfterDeadline() {
+        List<Long> expired = new ArrayList<>();
+        TimingWheel timingWheel = new TimingWheel(1_000L, 4, 2, 0L, expired::add);
+
+        timingWheel.add(7L, 50_000L);
+
+        timingWheel.advance(49_999L);
+        Assertions.assertThat(expired).isEmpty();
+
+        timingWheel.advance(51_000L);
+        Assertions.assertThat(expired).containsExactly(7L);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.spring.blog.utils;
+
+import com.spring.blog.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+public class UserSearchIndexTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    public void setup() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 250; id++) {
+            // id 가 클수록 먼저 가입한 사용자
+            rows.add(new Object[]{id, "user" + id + "@blog.com", "name" + id, NOW.minusDays(id)});
+        }
+        rows.add(new Object[]{251L, "other@blog.com", "other", NOW});
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        when(userRepository.findAllSearchEntries()).thenReturn(rows);
+
+        userSearchIndex = new UserSearchIndex(userRepository);
+        userSearchIndex.afterPropertiesSet();
+    }
+
+    @DisplayName("JUnit Test search returns only one sorted page of ids with the full count")
+    @Test
+    public void givenBroadKeyword_whenSearch_thenOnePageAndTotal() {
+        PageRequest pageable = PageRequest.of(1, 30, SortRegistry.USERS.resolve("createdAt", "desc"));
+
+        UserSearchIndex.SearchResult result = userSearchIndex.search("user", "name", pageable);
+
+        Assertions.assertThat(result.getTotal()).isEqualTo(250);
+        Assertions.assertThat(result.getIds()).hasSize(30);
+        Assertions.assertThat(result.getIds().get(0)).isEqualTo(31L);
+        Assertions.assertThat(result.getIds()).isSorted();
+    }
+
+    @DisplayName("JUnit Test search sorts by id and skips past the last page")
+    @Test
+    public void givenIdSort_whenSearchLastPage_thenRemainder() {
+        UserSearchIndex.SearchResult last = userSearchIndex.search("user", "name",
+                PageRequest.of(8, 30, SortRegistry.USERS.resolve("id", "desc")));
+
+        Assertions.assertThat(last.getIds()).hasSize(10).startsWith(10L).endsWith(1L);
+        Assertions.assertThat(userSearchIndex.search("", "name", PageRequest.of(0, 30))).isNull();
+    }
+
+}